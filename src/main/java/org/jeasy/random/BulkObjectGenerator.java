@@ -0,0 +1,86 @@
+package org.jeasy.random;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk generator for large collections and arrays: the target is cut in fixed size chunks, each chunk is
+ * generated from its own source seeded from the test seed and the chunk index, by the engine of the worker thread,
+ * and chunks are generated in parallel on the fork-join pool. Chunk boundaries and seeds only depend on the seed and
+ * the size, so the output is the same whatever the number of threads. Allocations of the chunks generated by worker
+ * threads are added to the {@link GenerationWindow} of the test.
+ *
+ * @author linux_china
+ */
+class BulkObjectGenerator {
+    /**
+     * elements per chunk
+     */
+    static final int CHUNK_SIZE = 4096;
+    /**
+     * minimal size to generate in parallel, smaller targets are generated by the test engine
+     */
+    static final int PARALLEL_THRESHOLD = 4 * CHUNK_SIZE;
+
+    private BulkObjectGenerator() {
+    }
+
+    /**
+     * fill target with random objects, chunks share the graph governor of the current thread if any
+     *
+     * @param random seeded random of the test
+     * @param type   element type
+     * @param target target array
+     */
+    static void fill(SeededRandom random, Class<?> type, Object[] target) {
+        final int size = target.length;
+        final EasyRandomResources resources = random.getResources();
+        final EasyRandom easyRandom = random.getEasyRandom();
+        if (size < PARALLEL_THRESHOLD) {
+            for (int i = 0; i < size; i++) {
+                target[i] = easyRandom.nextObject(type);
+            }
+            return;
+        }
+        final long seed = easyRandom.nextLong();
+        final int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        final GraphGovernor governor = GraphGovernor.current();
+        final GenerationWindow window = GenerationWindow.current();
+        IntStream.range(0, chunks).parallel().forEach(chunk -> GenerationWindow.chunk(window, () -> {
+            final SplittableRandom source = new SplittableRandom(SeededRandom.seed(seed, chunk));
+            if (governor == null) {
+                fillChunk(resources.getEasyRandom(), source, type, target, chunk);
+            } else {
+                governor.govern(() -> fillChunk(resources.getEasyRandom(governor.getLimits()), source, type, target, chunk));
+            }
+        }));
+    }
+
+    private static Object fillChunk(EasyRandom workerEasyRandom, SplittableRandom source, Class<?> type, Object[] target, int chunk) {
+        return RandomSource.with(source, () -> {
+            final int end = Math.min(target.length, (chunk + 1) * CHUNK_SIZE);
+            for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                target[i] = workerEasyRandom.nextObject(type);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * elements of a filled target, without the elements dropped by an exhausted graph governor
+     *
+     * @param target filled target
+     * @return target, or a copy without null elements if the graph governor of the current thread is exhausted
+     */
+    static Object[] governed(Object[] target) {
+        final GraphGovernor governor = GraphGovernor.current();
+        if (governor == null || !governor.isExhausted()) {
+            return target;
+        }
+        return Arrays.stream(target).filter(Objects::nonNull)
+                .toArray(length -> (Object[]) Array.newInstance(target.getClass().getComponentType(), length));
+    }
+}
@@ -1,15 +1,18 @@
 package org.jeasy.random;
 
-import com.github.javafaker.Faker;
 import org.jeasy.random.api.Randomizer;
 import org.jeasy.random.validation.BeanValidationRandomizerHandlers;
 import org.junit.jupiter.api.extension.*;
 
 import java.lang.reflect.*;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.BaseStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import static org.junit.platform.commons.support.AnnotationSupport.findAnnotation;
 import static org.junit.platform.commons.support.AnnotationSupport.isAnnotated;
 
 /**
@@ -90,57 +93,47 @@ import static org.junit.platform.commons.support.AnnotationSupport.isAnnotated;
  * @author Random Beans
  * @author linux_china
  */
-public class EasyRandomExtension implements TestInstancePostProcessor, ParameterResolver {
+public class EasyRandomExtension implements BeforeAllCallback, TestInstancePostProcessor, ParameterResolver,
+        InvocationInterceptor, TestExecutionExceptionHandler {
 
-    private final EasyRandom easyRandom;
-    private final BeanValidationRandomizerHandlers beanValidationHandlers;
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(EasyRandomExtension.class);
     /**
-     * faker type handlers
+     * resources for custom parameters, null for the JVM-wide default resources
      */
-    private final Map<Class<?>, Method> fakerTypeHandlers = new HashMap<>();
-    /**
-     * i18n faker map
-     */
-    private final Map<String, Faker> fakerI18nMap = new HashMap<>();
-    private final Map<String, net.datafaker.Faker> dataFakerI18nMap = new HashMap<>();
+    private final EasyRandomResources resources;
 
     public EasyRandomExtension() {
-        EasyRandomParameters parameters = new EasyRandomParameters().objectFactory(new RecordFactory());
-        easyRandom = new EasyRandom(parameters);
-        beanValidationHandlers = new BeanValidationRandomizerHandlers();
-        beanValidationHandlers.init(parameters);
-        // init Java Faker
-        try {
-            final Class<?> fakerClass = Class.forName("com.github.javafaker.Faker");
-            for (Method method : fakerClass.getMethods()) {
-                final Package typePackage = method.getReturnType().getPackage();
-                if (typePackage != null
-                        && typePackage.getName().equals("com.github.javafaker")
-                        && method.getParameterCount() == 0
-                ) {
-                    fakerTypeHandlers.put(method.getReturnType(), method);
-                }
-            }
-        } catch (Exception ignore) {
+        this.resources = null;
+    }
 
-        }
-        // init Data Faker
-        try {
-            final Class<?> baseProvidersClass = Class.forName("net.datafaker.providers.base.BaseProviders");
-            for (Method method : baseProvidersClass.getDeclaredMethods()) {
-                if (method.getParameterCount() == 0) {
-                    fakerTypeHandlers.put(method.getReturnType(), method);
-                }
-            }
-        } catch (Exception ignore) {
+    /**
+     * create extension with parameters, each test thread gets its own easy random engine built from a copy of the
+     * parameters: the copies share the registries and randomizers of the instance
+     *
+     * @param parameters parameters
+     */
+    public EasyRandomExtension(EasyRandomParameters parameters) {
+        this.resources = new EasyRandomResources(parameters);
+    }
 
-        }
+    /**
+     * create extension with a parameters factory, each test thread gets its own easy random engine with
+     * parameters from the factory, so that parallel tests do not contend on a shared engine
+     *
+     * @param parametersFactory parameters factory, must return a new instance on every call
+     */
+    public EasyRandomExtension(Supplier<EasyRandomParameters> parametersFactory) {
+        this.resources = new EasyRandomResources(parametersFactory);
     }
 
-    public EasyRandomExtension(EasyRandomParameters parameters) {
-        this.easyRandom = new EasyRandom(parameters);
-        this.beanValidationHandlers = new BeanValidationRandomizerHandlers();
-        this.beanValidationHandlers.init(parameters);
+    /**
+     * Start the producers of the pre-generation pools, if any is configured, see {@link ObjectPools}
+     *
+     * @param extensionContext the current extension context
+     */
+    @Override
+    public void beforeAll(ExtensionContext extensionContext) {
+        getPools(extensionContext, getResources(extensionContext)).fill();
     }
 
     /**
@@ -173,72 +166,366 @@ public class EasyRandomExtension implements TestInstancePostProcessor, Parameter
     public Object resolveParameter(ParameterContext parameterContext,
                                    ExtensionContext extensionContext) throws ParameterResolutionException {
         final Parameter parameter = parameterContext.getParameter();
-        if (fakerTypeHandlers.containsKey(parameter.getType())) {
-            return fakeValue(parameter.getAnnotation(Random.class), parameter.getType());
-        }
-        if (parameter.getAnnotations().length > 1) {
-            final Randomizer<?> randomizer = beanValidationHandlers.getRandomizer(parameter);
-            if (randomizer != null) {
-                return randomizer.getRandomValue();
-            }
-        }
-        return resolve(parameter.getParameterizedType(), parameter.getType(), parameter.getAnnotation(Random.class));
+        final EasyRandomResources resources = getResources(extensionContext);
+        final ResolutionPlan plan = getStore(extensionContext, resources)
+                .getOrComputeIfAbsent(parameter, key -> compile(resources, getPools(extensionContext, resources), getCorpus(extensionContext, resources), key), ResolutionPlan.class);
+        return GenerationEvent.generate(extensionContext.getTestClass().orElse(null), parameter, plan,
+                getSeededRandom(extensionContext, resources), getBudget(extensionContext, resources));
     }
 
     /**
-     * Inject random values into any fields which are annotated with {@link Random}
+     * Inject random values into any fields which are annotated with {@link Random}. Each test instance draws its
+     * fields from a new source seeded from the root seed and the test class, so a test replays the same fields when
+     * run alone, whatever the tests run before; parameters are seeded from the test method.
      *
      * @param testInstance     the instance to post-process
      * @param extensionContext the current extension context
      * @throws Exception exception
      */
     @Override
+    @SuppressWarnings("unchecked")
     public void postProcessTestInstance(Object testInstance,
                                         ExtensionContext extensionContext) throws Exception {
-        for (Field field : testInstance.getClass().getDeclaredFields()) {
-            if (isAnnotated(field, Random.class)) {
-                Random annotation = field.getAnnotation(Random.class);
-                Object randomObject;
-                if (fakerTypeHandlers.containsKey(field.getType())) {
-                    randomObject = fakeValue(field.getAnnotation(Random.class), field.getType());
-                } else {
-                    final Randomizer<?> randomizer = beanValidationHandlers.getRandomizer(field);
-                    if (randomizer != null) {
-                        randomObject = randomizer.getRandomValue();
-                    } else {
-                        randomObject = resolve(field.getGenericType(), field.getType(), annotation);
-                    }
+        final EasyRandomResources resources = getResources(extensionContext);
+        final ExtensionContext.Store store = getStore(extensionContext, resources);
+        final List<Field> randomFields = store.getOrComputeIfAbsent(testInstance.getClass(),
+                EasyRandomExtension::findRandomFields, List.class);
+        if (randomFields.isEmpty()) {
+            return;
+        }
+        final SeededRandom random = SeededRandom.of(resources, extensionContext);
+        final ObjectPools pools = getPools(extensionContext, resources);
+        final FixtureCorpus corpus = getCorpus(extensionContext, resources);
+        final GenerationBudget budget = GenerationBudget.of(extensionContext, "fields of " + testInstance.getClass().getName());
+        if (budget != null) {
+            getFieldBudgets(resources, extensionContext).put(testInstance, budget);
+        }
+        for (Field field : randomFields) {
+            final ResolutionPlan plan = store.getOrComputeIfAbsent(field, key -> compile(resources, pools, corpus, key), ResolutionPlan.class);
+            field.set(testInstance, GenerationEvent.generate(testInstance.getClass(), field, plan, random, budget));
+        }
+        if (!random.getReplayNotes().isEmpty()) {
+            extensionContext.getStore(NAMESPACE.append(resources))
+                    .getOrComputeIfAbsent(replayNotesKey(extensionContext), key -> ConcurrentHashMap.<String>newKeySet(), Set.class)
+                    .addAll(random.getReplayNotes());
+        }
+    }
+
+    /**
+     * Run the test method with the random source of its context, see {@link SeededRandom#proceed(Invocation)}
+     *
+     * @param invocation        the invocation of the test method
+     * @param invocationContext the context of the invocation
+     * @param extensionContext  the extension context of the test method
+     * @throws Throwable the exception thrown by the test
+     */
+    @Override
+    public void interceptTestMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+                                    ExtensionContext extensionContext) throws Throwable {
+        final EasyRandomResources resources = getResources(extensionContext);
+        getBudget(extensionContext, resources);
+        getSeededRandom(extensionContext, resources).proceed(invocation);
+    }
+
+    /**
+     * Run the repeated or parameterized test method with the random source of its invocation context
+     *
+     * @param invocation        the invocation of the test method
+     * @param invocationContext the context of the invocation
+     * @param extensionContext  the extension context of the test method invocation
+     * @throws Throwable the exception thrown by the test
+     */
+    @Override
+    public void interceptTestTemplateMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+                                            ExtensionContext extensionContext) throws Throwable {
+        final EasyRandomResources resources = getResources(extensionContext);
+        getBudget(extensionContext, resources);
+        getSeededRandom(extensionContext, resources).proceed(invocation);
+    }
+
+    /**
+     * Report the root seed of the failed test, as a suppressed exception of the failure. Values of the test or its
+     * fields not replayed by the seed alone, taken from the pre-generation pools or the fixture corpus, are listed.
+     *
+     * @param extensionContext the current extension context
+     * @param throwable        the exception thrown by the test
+     * @throws Throwable the exception thrown by the test
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void handleTestExecutionException(ExtensionContext extensionContext, Throwable throwable) throws Throwable {
+        final EasyRandomResources resources = getResources(extensionContext);
+        SeededRandom random = null;
+        ExtensionContext seededContext = null;
+        final Set<String> replayNotes = new TreeSet<>();
+        for (ExtensionContext context = extensionContext; context != null; context = context.getParent().orElse(null)) {
+            final ExtensionContext.Store store = context.getStore(NAMESPACE.append(resources));
+            final SeededRandom contextRandom = store.get(seedKey(context), SeededRandom.class);
+            if (contextRandom != null) {
+                replayNotes.addAll(contextRandom.getReplayNotes());
+                if (random == null) {
+                    random = contextRandom;
+                    seededContext = context;
                 }
+            }
+            final Set<String> fieldReplayNotes = store.get(replayNotesKey(context), Set.class);
+            if (fieldReplayNotes != null) {
+                replayNotes.addAll(fieldReplayNotes);
+            }
+        }
+        if (random != null) {
+            String message = "easy-random root seed " + random.getRootSeed() + " (seed " + random.getSeed() + " for "
+                    + seededContext.getUniqueId() + "), replay with @RandomSeed(" + random.getRootSeed() + "L) or -D"
+                    + SeededRandom.ROOT_SEED_PROPERTY + "=" + random.getRootSeed();
+            if (!replayNotes.isEmpty()) {
+                message += "; " + String.join("; ", replayNotes);
+            }
+            extensionContext.publishReportEntry(SeededRandom.ROOT_SEED_PROPERTY, String.valueOf(random.getRootSeed()));
+            throwable.addSuppressed(new RandomSeedReport(message));
+        }
+        throw throwable;
+    }
+
+    /**
+     * get the resources of this extension, default resources are registered in the root store to be released
+     * when the root context is closed
+     *
+     * @param extensionContext extension context
+     * @return resources
+     */
+    private EasyRandomResources getResources(ExtensionContext extensionContext) {
+        if (resources != null) {
+            return resources;
+        }
+        return extensionContext.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(EasyRandomResources.class, key -> EasyRandomResources.defaults(), EasyRandomResources.class);
+    }
+
+    /**
+     * resolution plans are shared by all extension instances with the same resources
+     *
+     * @param extensionContext extension context
+     * @param resources        resources
+     * @return root store
+     */
+    private static ExtensionContext.Store getStore(ExtensionContext extensionContext, EasyRandomResources resources) {
+        return extensionContext.getRoot().getStore(NAMESPACE.append(resources));
+    }
+
+    /**
+     * pre-generation pools, created on first use from the configuration of the root context and closed with it
+     *
+     * @param extensionContext extension context
+     * @param resources        resources
+     * @return pools
+     */
+    private ObjectPools getPools(ExtensionContext extensionContext, EasyRandomResources resources) {
+        return getStore(extensionContext, resources).getOrComputeIfAbsent(ObjectPools.class,
+                key -> ObjectPools.of(resources, extensionContext.getRoot()), ObjectPools.class);
+    }
+
+    /**
+     * fixture corpus, created on first use from the configuration of the root context
+     *
+     * @param extensionContext extension context
+     * @param resources        resources
+     * @return corpus
+     */
+    private FixtureCorpus getCorpus(ExtensionContext extensionContext, EasyRandomResources resources) {
+        return getStore(extensionContext, resources).getOrComputeIfAbsent(FixtureCorpus.class,
+                key -> FixtureCorpus.of(extensionContext.getRoot()), FixtureCorpus.class);
+    }
+
+    /**
+     * seeded random of the extension context, created on first use; keyed by unique ID because stores of child
+     * contexts see the values of their parents
+     *
+     * @param extensionContext extension context
+     * @param resources        resources
+     * @return seeded random
+     */
+    private static SeededRandom getSeededRandom(ExtensionContext extensionContext, EasyRandomResources resources) {
+        return extensionContext.getStore(NAMESPACE.append(resources))
+                .getOrComputeIfAbsent(seedKey(extensionContext), key -> SeededRandom.of(resources, extensionContext), SeededRandom.class);
+    }
+
+    /**
+     * generation budget of the test, created on first use in the store of the test's extension context, see
+     * {@link RandomBudget}: it is charged with the fields of the test instances, generated before the test's
+     * extension context exists, and with the parameters of the test
+     *
+     * @param extensionContext extension context of the test
+     * @param resources        resources
+     * @return budget, null if none
+     */
+    private static GenerationBudget getBudget(ExtensionContext extensionContext, EasyRandomResources resources) {
+        final Optional<?> budget = extensionContext.getStore(NAMESPACE.append(resources))
+                .getOrComputeIfAbsent(GenerationBudget.class.getName() + ":" + extensionContext.getUniqueId(), key -> {
+                    final GenerationBudget testBudget = GenerationBudget.of(extensionContext, "test " + extensionContext.getTestMethod()
+                            .map(method -> method.getDeclaringClass().getName() + "." + method.getName()).orElse(extensionContext.getDisplayName()));
+                    if (testBudget != null) {
+                        final Map<Object, GenerationBudget> fieldBudgets = getFieldBudgets(resources, extensionContext);
+                        for (Object testInstance : extensionContext.getTestInstances().map(TestInstances::getAllInstances).orElse(List.of())) {
+                            final GenerationBudget fieldBudget = fieldBudgets.remove(testInstance);
+                            if (fieldBudget != null) {
+                                testBudget.absorb(fieldBudget);
+                            }
+                        }
+                    }
+                    return Optional.ofNullable(testBudget);
+                }, Optional.class);
+        return (GenerationBudget) budget.orElse(null);
+    }
+
+    /**
+     * budgets charged with the fields of test instances, until the budget of a test using the instance takes them
+     *
+     * @param resources        resources
+     * @param extensionContext extension context
+     * @return field budgets by test instance identity
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<Object, GenerationBudget> getFieldBudgets(EasyRandomResources resources, ExtensionContext extensionContext) {
+        return getStore(extensionContext, resources).getOrComputeIfAbsent(GenerationBudget.class.getName() + ":fields",
+                key -> Collections.synchronizedMap(new IdentityHashMap<>()), Map.class);
+    }
+
+    private static String seedKey(ExtensionContext extensionContext) {
+        return SeededRandom.class.getName() + ":" + extensionContext.getUniqueId();
+    }
+
+    private static String replayNotesKey(ExtensionContext extensionContext) {
+        return RandomSeedReport.class.getName() + ":" + extensionContext.getUniqueId();
+    }
+
+    private static List<Field> findRandomFields(Class<?> testClass) {
+        List<Field> randomFields = new ArrayList<>();
+        for (Field field : testClass.getDeclaredFields()) {
+            if (isAnnotated(field, Random.class)) {
                 field.setAccessible(true);
-                field.set(testInstance, randomObject);
+                randomFields.add(field);
+            }
+        }
+        return Collections.unmodifiableList(randomFields);
+    }
+
+    private static ResolutionPlan compile(EasyRandomResources resources, ObjectPools pools, FixtureCorpus corpus, Parameter parameter) {
+        final Random annotation = parameter.getAnnotation(Random.class);
+        final FakerProviders fakerProviders = resources.getFakerProviders();
+        if (fakerProviders.isFakerType(parameter.getType())) {
+            return ResolutionPlan.of("Faker", 0, random -> fakerProviders.fakeValue(annotation, parameter.getType()));
+        }
+        if (parameter.getAnnotations().length > 1) {
+            final BeanValidationRandomizerHandlers.Binding binding = resources.getBeanValidationHandlers().bind(parameter);
+            final Randomizer<?> randomizer = binding != null ? resources.getBeanValidationHandlers().getRandomizer(binding) : null;
+            if (randomizer != null) {
+                return ResolutionPlan.of(resources.getBeanValidationHandlers().getHandlerName(binding), 0, random -> randomizer.getRandomValue());
             }
         }
+        return compile(resources, pools, corpus, parameter, parameter.getParameterizedType(), parameter.getType(), annotation);
+    }
+
+    private static ResolutionPlan compile(EasyRandomResources resources, ObjectPools pools, FixtureCorpus corpus, Field field) {
+        final Random annotation = findAnnotation(field, Random.class).orElseThrow();
+        final FakerProviders fakerProviders = resources.getFakerProviders();
+        if (fakerProviders.isFakerType(field.getType())) {
+            return ResolutionPlan.of("Faker", 0, random -> fakerProviders.fakeValue(annotation, field.getType()));
+        }
+        final BeanValidationRandomizerHandlers.Binding binding = resources.getBeanValidationHandlers().bind(field);
+        final Randomizer<?> randomizer = binding != null ? resources.getBeanValidationHandlers().getRandomizer(binding) : null;
+        if (randomizer != null) {
+            return ResolutionPlan.of(resources.getBeanValidationHandlers().getHandlerName(binding), 0, random -> randomizer.getRandomValue());
+        }
+        return compile(resources, pools, corpus, field, field.getGenericType(), field.getType(), annotation);
     }
 
     /**
      * Maps the 'random requirements' expressed by the given {@code annotation} to invocations on
-     * {@link #easyRandom}.
+     * an {@link EasyRandom} engine.
      *
+     * @param element    the annotated parameter or field
      * @param targetType the type to be provided
      * @param annotation an instance of {@link Random} which describes how the user wishes to
      *                   configure the 'random generation'
-     * @return a randomly generated instance of {@code targetType}
+     * @return a plan generating random instances of {@code targetType}
      */
-    private Object resolve(Type targetType, Class<?> targetClass, Random annotation) {
+    private static ResolutionPlan compile(EasyRandomResources resources, ObjectPools pools, FixtureCorpus corpus, AnnotatedElement element,
+                                          Type targetType, Class<?> targetClass, Random annotation) {
+        ResolutionPlan plan = compileGeneration(resources, pools, targetType, targetClass, annotation);
+        final GraphGovernor.Limits limits = GraphGovernor.limits(annotation);
+        if (limits != null) {
+            final ResolutionPlan governedPlan = plan;
+            plan = ResolutionPlan.of(plan.handler(), plan.size(), random -> GraphGovernor.govern(limits, () -> governedPlan.generate(random)));
+        }
+        if (annotation.validated()) {
+            try {
+                plan = ResolutionPlan.of("Validated " + plan.handler(), plan.size(), ValidatedGenerator.validating(plan, annotation.retries()));
+            } catch (NoClassDefFoundError e) {
+                throw new ObjectCreationException("Validated generation requires hibernate-validator on the classpath", e);
+            }
+        }
+        if (annotation.cached() && !BaseStream.class.isAssignableFrom(targetClass)) {
+            plan = ResolutionPlan.of("Cached " + plan.handler(), plan.size(), corpus.caching(plan, resources, targetType, element));
+        }
+        return plan;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ResolutionPlan compileGeneration(EasyRandomResources resources, ObjectPools pools, Type targetType, Class<?> targetClass, Random annotation) {
+        final FakerProviders fakerProviders = resources.getFakerProviders();
+        final int size = annotation.size();
         if (targetClass.isAssignableFrom(List.class) || targetClass.isAssignableFrom(Collection.class)) {
-            return easyRandom
-                    .objects(parseInferredClass(targetType, annotation.type()), annotation.size())
-                    .collect(Collectors.toList());
+            final Class<?> elementClass = parseInferredClass(targetType, annotation.type());
+            if (PrimitiveBulkGenerator.supports(resources, elementClass)) {
+                final boolean compact = annotation.compact();
+                return ResolutionPlan.of("PrimitiveBulkGenerator", size, random -> PrimitiveBulkGenerator.list(elementClass, size, random.nextSeed(), compact));
+            }
+            return ResolutionPlan.of("BulkObjectGenerator", size, random -> {
+                final Object[] elements = new Object[size];
+                BulkObjectGenerator.fill(random, elementClass, elements);
+                return new ArrayList<>(Arrays.asList(BulkObjectGenerator.governed(elements)));
+            });
         } else if (targetClass.isAssignableFrom(Set.class)) {
-            return easyRandom
-                    .objects(parseInferredClass(targetType, annotation.type()), annotation.size())
-                    .collect(Collectors.toSet());
+            final Class<?> elementClass = parseInferredClass(targetType, annotation.type());
+            if (PrimitiveBulkGenerator.supports(resources, elementClass)) {
+                return ResolutionPlan.of("PrimitiveBulkGenerator", size, random -> PrimitiveBulkGenerator.set(elementClass, size, random.nextSeed()));
+            }
+            return ResolutionPlan.of("BulkObjectGenerator", size, random -> {
+                final Object[] elements = new Object[size];
+                BulkObjectGenerator.fill(random, elementClass, elements);
+                return new HashSet<>(Arrays.asList(BulkObjectGenerator.governed(elements)));
+            });
+        } else if (targetClass.isArray() && PrimitiveBulkGenerator.supports(resources, targetClass.getComponentType())) {
+            final Class<?> componentClass = targetClass.getComponentType();
+            return ResolutionPlan.of("PrimitiveBulkGenerator", size, random -> PrimitiveBulkGenerator.array(componentClass, size, random.nextSeed()));
+        } else if (targetClass.isArray() && !targetClass.getComponentType().isPrimitive()) {
+            final Class<?> componentClass = targetClass.getComponentType();
+            return ResolutionPlan.of("BulkObjectGenerator", size, random -> {
+                final Object[] elements = (Object[]) Array.newInstance(componentClass, size);
+                BulkObjectGenerator.fill(random, componentClass, elements);
+                return BulkObjectGenerator.governed(elements);
+            });
+        } else if (PrimitiveBulkGenerator.isPrimitiveStream(targetClass)) {
+            final long fence = annotation.unbounded() ? Long.MAX_VALUE : size;
+            return ResolutionPlan.of("PrimitiveBulkGenerator", fence, random -> PrimitiveBulkGenerator.stream(targetClass, random.nextSeed(), fence));
         } else if (targetClass.isAssignableFrom(Stream.class)) {
-            return easyRandom.objects(parseInferredClass(targetType, annotation.type()), annotation.size());
-        } else if (fakerTypeHandlers.containsKey(targetClass)) {
-            return fakeValue(annotation, targetClass);
+            final Class<?> elementClass = parseInferredClass(targetType, annotation.type());
+            final long fence = annotation.unbounded() ? Long.MAX_VALUE : size;
+            final boolean governed = GraphGovernor.limits(annotation) != null;
+            return ResolutionPlan.of("RandomObjectSpliterator", fence, random -> {
+                final long seed = random.getEasyRandom().nextLong();
+                final Stream<?> stream = StreamSupport.stream(new RandomObjectSpliterator(elementClass, resources, seed, 0, fence), false);
+                // a governed stream ends once its max objects are created
+                return governed ? stream.takeWhile(Objects::nonNull) : stream;
+            });
+        } else if (fakerProviders.isFakerType(targetClass)) {
+            return ResolutionPlan.of("Faker", 0, random -> fakerProviders.fakeValue(annotation, targetClass));
+        } else if (pools.get(targetClass) != null && GraphGovernor.limits(annotation) == null) {
+            final ObjectPools.Pool pool = pools.get(targetClass);
+            return ResolutionPlan.of("ObjectPools", 0,
+                    random -> random.isPinned() ? random.getEasyRandom().nextObject(targetClass) : pool.take(random));
         } else {
-            return easyRandom.nextObject(targetClass);
+            return random -> random.getEasyRandom().nextObject(targetClass);
         }
     }
 
@@ -280,42 +567,14 @@ public class EasyRandomExtension implements TestInstancePostProcessor, Parameter
     }
 
     public Object fakeValue(Random random, Class<?> fakeType) {
-        if (fakeType.getCanonicalName().startsWith("net.datafaker.")) {
-            return dataFakerValue(random, fakeType);
-        } else {
-            return javaFakerValue(random, fakeType);
-        }
+        return getFakerProviders().fakeValue(random, fakeType);
     }
 
     public Object javaFakerValue(Random random, Class<?> fakeType) {
-        // faker checker
-        final Method handler = fakerTypeHandlers.get(fakeType);
-        try {
-            String locale = random.locale();
-            if (!fakerI18nMap.containsKey(locale)) {
-                final String[] parts = locale.split("[_\\-]+");
-                Locale temp = parts.length > 1 ? new Locale(parts[0], parts[1]) : new Locale(parts[0]);
-                fakerI18nMap.put(locale, new Faker(temp));
-            }
-            return handler.invoke(fakerI18nMap.get(locale));
-        } catch (Exception e) {
-            return null;
-        }
+        return getFakerProviders().javaFakerValue(random, fakeType);
     }
 
-    private Object dataFakerValue(Random random, Class<?> fakeType) {
-        // faker checker
-        final Method handler = fakerTypeHandlers.get(fakeType);
-        try {
-            String locale = random.locale();
-            if (!dataFakerI18nMap.containsKey(locale)) {
-                final String[] parts = locale.split("[_\\-]+");
-                Locale temp = parts.length > 1 ? new Locale(parts[0], parts[1]) : new Locale(parts[0]);
-                dataFakerI18nMap.put(locale, new net.datafaker.Faker(temp));
-            }
-            return handler.invoke(dataFakerI18nMap.get(locale));
-        } catch (Exception e) {
-            return null;
-        }
+    private FakerProviders getFakerProviders() {
+        return (resources != null ? resources : EasyRandomResources.defaults()).getFakerProviders();
     }
 }
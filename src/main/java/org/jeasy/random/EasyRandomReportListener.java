@@ -0,0 +1,177 @@
+package org.jeasy.random;
+
+import org.jeasy.random.validation.RegexGenerators;
+import org.jeasy.random.validation.SyntheticFields;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Generation cost report of a test run, registered with the JUnit Platform launcher by {@code META-INF/services}:
+ * top test classes and target types by generation time, object count and allocated bytes, cache hit rates, synthetic
+ * classes and Faker instances created during the run. The report is opt-in, without it the listener does nothing.
+ * Configuration parameters or system properties:
+ *
+ * <ul>
+ *   <li>{@code easy-random.report.enabled}: collect and write the report, false by default
+ *   <li>{@code easy-random.report.file}: JSON report file, {@code target/easy-random-report.json} by default
+ *   <li>{@code easy-random.report.top}: entries per top list, 10 by default
+ *   <li>{@code easy-random.report.print}: print a summary to the standard output, false by default
+ * </ul>
+ *
+ * @author linux_china
+ */
+public class EasyRandomReportListener implements TestExecutionListener {
+    static final String ENABLED_PROPERTY = "easy-random.report.enabled";
+    static final String FILE_PROPERTY = "easy-random.report.file";
+    static final String TOP_PROPERTY = "easy-random.report.top";
+    static final String PRINT_PROPERTY = "easy-random.report.print";
+    static final String DEFAULT_FILE = "target/easy-random-report.json";
+
+    private GenerationStats stats;
+    private Path file;
+    private int top;
+    private boolean print;
+    private long[] baseline;
+    private Map<Class<?>, long[]> validationBaseline;
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        final ConfigurationParameters configuration = testPlan.getConfigurationParameters();
+        if (!configuration.getBoolean(ENABLED_PROPERTY).orElse(false)) {
+            return;
+        }
+        file = Paths.get(configuration.get(FILE_PROPERTY).orElse(DEFAULT_FILE));
+        top = configuration.get(TOP_PROPERTY, Integer::parseInt).orElse(10);
+        print = configuration.getBoolean(PRINT_PROPERTY).orElse(false);
+        baseline = counters();
+        validationBaseline = ValidationStats.snapshot();
+        stats = GenerationStats.start();
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        if (stats == null) {
+            return;
+        }
+        stats.stop();
+        if (!stats.isEmpty()) {
+            final long[] counters = counters();
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] -= baseline[i];
+            }
+            try {
+                if (file.getParent() != null) {
+                    Files.createDirectories(file.getParent());
+                }
+                Files.writeString(file, toJson(counters), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            if (print) {
+                System.out.println(summary());
+            }
+        }
+        stats = null;
+    }
+
+    /**
+     * regex hits and misses, pool hits and misses, corpus loads and saves, synthetic classes, faker instances
+     */
+    private static long[] counters() {
+        return new long[]{RegexGenerators.hitCount(), RegexGenerators.missCount(), PoolStats.hitCount(), PoolStats.missCount(),
+                FixtureCorpus.loadCount(), FixtureCorpus.saveCount(), SyntheticFields.generatedClassCount(),
+                FakerProviders.createdFakerCount()};
+    }
+
+    private String toJson(long[] counters) {
+        final StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"testClasses\": ");
+        appendTops(json, stats.testClasses());
+        json.append(",\n  \"targetTypes\": ");
+        appendTops(json, stats.targetTypes());
+        json.append(",\n  \"caches\": {\n");
+        json.append("    \"regex\": ").append(cache(counters[0], counters[1], "hits", "misses")).append(",\n");
+        json.append("    \"pools\": ").append(cache(counters[2], counters[3], "hits", "misses")).append(",\n");
+        json.append("    \"corpus\": ").append(cache(counters[4], counters[5], "loads", "saves")).append("\n  },\n");
+        json.append("  \"syntheticClasses\": ").append(counters[6]).append(",\n");
+        json.append("  \"fakerInstances\": ").append(counters[7]).append(",\n");
+        json.append("  \"validationRejectionRates\": {");
+        String separator = "\n";
+        for (Map.Entry<String, Double> entry : ValidationStats.rejectionRatesSince(validationBaseline).entrySet()) {
+            json.append(separator).append("    ").append(quote(entry.getKey())).append(": ").append(entry.getValue());
+            separator = ",\n";
+        }
+        json.append(separator.equals("\n") ? "}" : "\n  }").append("\n}\n");
+        return json.toString();
+    }
+
+    private void appendTops(StringBuilder json, List<GenerationStats.Entry> entries) {
+        json.append("{\n");
+        appendTop(json, "byTime", entries, GenerationStats.Entry::nanos);
+        json.append(",\n");
+        appendTop(json, "byObjects", entries, GenerationStats.Entry::objects);
+        json.append(",\n");
+        appendTop(json, "byAllocatedBytes", entries, GenerationStats.Entry::allocatedBytes);
+        json.append("\n  }");
+    }
+
+    private void appendTop(StringBuilder json, String name, List<GenerationStats.Entry> entries, ToLongFunction<GenerationStats.Entry> metric) {
+        json.append("    ").append(quote(name)).append(": [");
+        String separator = "\n";
+        for (GenerationStats.Entry entry : GenerationStats.top(entries, metric, top)) {
+            json.append(separator).append("      {\"name\": ").append(quote(entry.name()))
+                    .append(", \"generations\": ").append(entry.generations())
+                    .append(", \"objects\": ").append(entry.objects())
+                    .append(", \"timeMillis\": ").append(entry.nanos() / 1_000_000.0)
+                    .append(", \"allocatedBytes\": ").append(entry.allocatedBytes()).append('}');
+            separator = ",\n";
+        }
+        json.append(separator.equals("\n") ? "]" : "\n    ]");
+    }
+
+    private static String cache(long hits, long misses, String hitsName, String missesName) {
+        final long total = hits + misses;
+        return "{\"" + hitsName + "\": " + hits + ", \"" + missesName + "\": " + misses
+                + ", \"hitRate\": " + (total == 0 ? 0.0 : (double) hits / total) + "}";
+    }
+
+    private String summary() {
+        final StringBuilder summary = new StringBuilder("easy-random generation report, written to ").append(file.toAbsolutePath());
+        summary.append("\n  top test classes by generation time:");
+        for (GenerationStats.Entry entry : GenerationStats.top(stats.testClasses(), GenerationStats.Entry::nanos, top)) {
+            summary.append(String.format("%n    %10.1f ms %10d objects %12d bytes  %s",
+                    entry.nanos() / 1_000_000.0, entry.objects(), entry.allocatedBytes(), entry.name()));
+        }
+        summary.append("\n  top target types by generation time:");
+        for (GenerationStats.Entry entry : GenerationStats.top(stats.targetTypes(), GenerationStats.Entry::nanos, top)) {
+            summary.append(String.format("%n    %10.1f ms %10d objects %12d bytes  %s",
+                    entry.nanos() / 1_000_000.0, entry.objects(), entry.allocatedBytes(), entry.name()));
+        }
+        return summary.toString();
+    }
+
+    private static String quote(String text) {
+        final StringBuilder quoted = new StringBuilder("\"");
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
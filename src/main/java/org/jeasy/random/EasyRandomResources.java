@@ -0,0 +1,166 @@
+package org.jeasy.random;
+
+import org.jeasy.random.validation.BeanValidationRandomizerHandlers;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Resources shared by easy random extension instances: parameters, bean validation handlers and fakers.
+ * The default resources are created lazily once per JVM and released when the root extension context is closed.
+ * <p>
+ * Engines and handlers are built once and draw from the source of the generating thread, see {@link RandomSource}:
+ * every generation installs the source of its seed, so tests get reproducible data without an engine per test.
+ * Each thread gets its own engine, so parallel tests share no engine. Engines built from parameters given as an
+ * instance are built from copies that share the registries of the instance, so these engines are built one at a time.
+ *
+ * @author linux_china
+ */
+class EasyRandomResources implements ExtensionContext.Store.CloseableResource {
+    private static EasyRandomResources defaults;
+    /**
+     * max engines with graph governor limits kept by a thread, the least recently used engine is dropped beyond
+     */
+    private static final int MAX_LIMITED_ENGINES = 16;
+
+    private final EasyRandomParameters parameters;
+    private final Supplier<EasyRandomParameters> parametersFactory;
+    /**
+     * engines of the threads
+     */
+    private final ThreadLocal<EasyRandom> easyRandoms;
+    /**
+     * engines of the threads with collection sizes capped by graph governor limits, least recently used first
+     */
+    private final ThreadLocal<Map<GraphGovernor.Limits, EasyRandom>> limitedEasyRandoms = ThreadLocal.withInitial(() ->
+            new LinkedHashMap<>(MAX_LIMITED_ENGINES, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<GraphGovernor.Limits, EasyRandom> eldest) {
+                    return size() > MAX_LIMITED_ENGINES;
+                }
+            });
+    private final BeanValidationRandomizerHandlers beanValidationHandlers;
+    private final FakerProviders fakerProviders;
+
+    EasyRandomResources(EasyRandomParameters parameters) {
+        this.parameters = GraphGovernor.governed(parameters);
+        // copies keep the governed exclusion policy and share the registries of the instance
+        this.parametersFactory = this.parameters::copy;
+        this.beanValidationHandlers = new BeanValidationRandomizerHandlers();
+        this.beanValidationHandlers.init(parameters);
+        this.easyRandoms = ThreadLocal.withInitial(() -> newEasyRandom(this.parameters));
+        this.fakerProviders = new FakerProviders();
+    }
+
+    EasyRandomResources(Supplier<EasyRandomParameters> parametersFactory) {
+        this.parameters = GraphGovernor.governed(parametersFactory.get());
+        this.parametersFactory = parametersFactory;
+        this.beanValidationHandlers = new BeanValidationRandomizerHandlers();
+        this.beanValidationHandlers.init(parameters);
+        // the engines of size handlers are built from these parameters
+        if (parameters.getObjectFactory() instanceof RecordFactory recordFactory) {
+            recordFactory.bind(parameters, null, this::getEasyRandom, beanValidationHandlers);
+        }
+        this.easyRandoms = ThreadLocal.withInitial(() -> newEasyRandom(parametersFactory.get()));
+        this.fakerProviders = new FakerProviders();
+    }
+
+    /**
+     * get default resources, created on first call
+     *
+     * @return default resources
+     */
+    static synchronized EasyRandomResources defaults() {
+        if (defaults == null) {
+            defaults = new EasyRandomResources(() -> new EasyRandomParameters().objectFactory(new RecordFactory()));
+        }
+        return defaults;
+    }
+
+    public EasyRandomParameters getParameters() {
+        return parameters;
+    }
+
+    /**
+     * bean validation handlers, built once: used to find the constraints of elements and to generate their values
+     *
+     * @return bean validation handlers
+     */
+    public BeanValidationRandomizerHandlers getBeanValidationHandlers() {
+        return beanValidationHandlers;
+    }
+
+    public FakerProviders getFakerProviders() {
+        return fakerProviders;
+    }
+
+    /**
+     * are these the JVM-wide default resources
+     *
+     * @return true for the default resources
+     */
+    public boolean isDefault() {
+        synchronized (EasyRandomResources.class) {
+            return defaults == this;
+        }
+    }
+
+    /**
+     * get the easy random engine of the current thread. Values depend on the source installed by the current
+     * generation, see {@link RandomSource}.
+     *
+     * @return easy random engine
+     */
+    public EasyRandom getEasyRandom() {
+        return easyRandoms.get();
+    }
+
+    /**
+     * get the easy random engine of the current thread with the collection size range capped by graph governor limits
+     *
+     * @param limits graph governor limits
+     * @return easy random engine
+     */
+    public EasyRandom getEasyRandom(GraphGovernor.Limits limits) {
+        return limitedEasyRandoms.get().computeIfAbsent(limits, key -> newEasyRandom(key.apply(parametersFactory.get())));
+    }
+
+    /**
+     * create a new engine, not bound to any thread
+     *
+     * @return easy random engine
+     */
+    EasyRandom newEasyRandom() {
+        return newEasyRandom(parametersFactory.get());
+    }
+
+    /**
+     * create an engine drawing from the source of the generating thread, governed by its graph governor, and bind it
+     * to its record factory, so that records are generated by the same engine with the bean validation handlers of
+     * these resources. Engines are built one at a time: building an engine initializes the registries of its
+     * parameters, which copies of an instance share.
+     *
+     * @param parameters parameters
+     * @return easy random engine
+     */
+    private synchronized EasyRandom newEasyRandom(EasyRandomParameters parameters) {
+        final EasyRandom easyRandom = RandomSource.newEasyRandom(GraphGovernor.governed(parameters));
+        if (parameters.getObjectFactory() instanceof RecordFactory recordFactory) {
+            recordFactory.bind(parameters, easyRandom, this::getEasyRandom, beanValidationHandlers);
+        }
+        return easyRandom;
+    }
+
+    @Override
+    public void close() {
+        fakerProviders.clear();
+        beanValidationHandlers.clear();
+        synchronized (EasyRandomResources.class) {
+            if (defaults == this) {
+                defaults = null;
+            }
+        }
+    }
+}
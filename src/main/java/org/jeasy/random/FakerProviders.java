@@ -0,0 +1,165 @@
+package org.jeasy.random;
+
+import com.github.javafaker.Faker;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Faker providers: provider types of Java Faker and Data Faker and the i18n faker instances. Fakers draw from
+ * {@link RandomSource}, the extension installs the source of the test while it runs, so providers injected in a test
+ * return reproducible values.
+ *
+ * @author linux_china
+ */
+class FakerProviders {
+    private static final AtomicLong CREATED_FAKERS = new AtomicLong();
+    /**
+     * i18n faker map
+     */
+    private final Map<String, Faker> fakerI18nMap = new ConcurrentHashMap<>();
+    private final Map<String, Object> dataFakerI18nMap = new ConcurrentHashMap<>();
+
+    public boolean isFakerType(Class<?> type) {
+        return FakerTypeHandlers.HANDLERS.containsKey(type);
+    }
+
+    public Object fakeValue(Random random, Class<?> fakeType) {
+        final FakerTypeHandler handler = getHandler(fakeType);
+        final Object faker = handler.dataFaker() ? dataFaker(random.locale()) : javaFaker(random.locale());
+        try {
+            return handler.accessor().invokeExact(faker);
+        } catch (Throwable e) {
+            throw new ObjectCreationException("Unable to create a random instance of faker type " + fakeType, e);
+        }
+    }
+
+    public Object javaFakerValue(Random random, Class<?> fakeType) {
+        if (getHandler(fakeType).dataFaker()) {
+            throw new ObjectCreationException(fakeType + " is not a Java Faker type");
+        }
+        return fakeValue(random, fakeType);
+    }
+
+    /**
+     * count of faker instances created since JVM start
+     *
+     * @return created faker count
+     */
+    static long createdFakerCount() {
+        return CREATED_FAKERS.get();
+    }
+
+    /**
+     * release i18n faker instances
+     */
+    public void clear() {
+        fakerI18nMap.clear();
+        dataFakerI18nMap.clear();
+    }
+
+    private static FakerTypeHandler getHandler(Class<?> fakeType) {
+        final FakerTypeHandler handler = FakerTypeHandlers.HANDLERS.get(fakeType);
+        if (handler == null) {
+            throw new ObjectCreationException(fakeType + " is not a faker type");
+        }
+        return handler;
+    }
+
+    private Object javaFaker(String locale) {
+        return fakerI18nMap.computeIfAbsent(locale, key -> {
+            CREATED_FAKERS.incrementAndGet();
+            return RandomSource.detached(() -> new Faker(parseLocale(key), RandomSource.random()));
+        });
+    }
+
+    private Object dataFaker(String locale) {
+        return dataFakerI18nMap.computeIfAbsent(locale, key -> {
+            CREATED_FAKERS.incrementAndGet();
+            return RandomSource.detached(() -> new net.datafaker.Faker(parseLocale(key), RandomSource.random()));
+        });
+    }
+
+    private static Locale parseLocale(String locale) {
+        final String[] parts = locale.split("[_\\-]+");
+        return parts.length > 1 ? new Locale(parts[0], parts[1]) : new Locale(parts[0]);
+    }
+
+    /**
+     * faker type handler
+     *
+     * @param accessor  provider accessor with {@code (Object)Object} type, receiver is the faker instance
+     * @param dataFaker Data Faker provider or Java Faker provider
+     */
+    private record FakerTypeHandler(MethodHandle accessor, boolean dataFaker) {
+    }
+
+    /**
+     * faker type handlers, scanned once per JVM on first use
+     */
+    private static final class FakerTypeHandlers {
+        private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+        static final Map<Class<?>, FakerTypeHandler> HANDLERS = scan();
+
+        private static Map<Class<?>, FakerTypeHandler> scan() {
+            Map<Class<?>, FakerTypeHandler> fakerTypeHandlers = new HashMap<>();
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            // init Java Faker
+            final Class<?> fakerClass = findClass("com.github.javafaker.Faker");
+            if (fakerClass != null) {
+                for (Method method : fakerClass.getMethods()) {
+                    final Package typePackage = method.getReturnType().getPackage();
+                    if (typePackage != null
+                            && typePackage.getName().equals("com.github.javafaker")
+                            && method.getParameterCount() == 0
+                            && !Modifier.isStatic(method.getModifiers())
+                    ) {
+                        try {
+                            fakerTypeHandlers.put(method.getReturnType(), new FakerTypeHandler(lookup.unreflect(method).asType(ACCESSOR_TYPE), false));
+                        } catch (IllegalAccessException | WrongMethodTypeException ignore) {
+                            // provider not accessible, skipped
+                        }
+                    }
+                }
+            }
+            // init Data Faker
+            final Class<?> baseProvidersClass = findClass("net.datafaker.providers.base.BaseProviders");
+            if (baseProvidersClass != null) {
+                for (Method method : baseProvidersClass.getDeclaredMethods()) {
+                    if (method.getParameterCount() == 0 && !Modifier.isStatic(method.getModifiers())) {
+                        try {
+                            fakerTypeHandlers.put(method.getReturnType(), new FakerTypeHandler(lookup.unreflect(method).asType(ACCESSOR_TYPE), true));
+                        } catch (IllegalAccessException | WrongMethodTypeException ignore) {
+                            // provider not accessible, skipped
+                        }
+                    }
+                }
+            }
+            return Collections.unmodifiableMap(fakerTypeHandlers);
+        }
+
+        /**
+         * find an optional Faker class
+         *
+         * @param className class name
+         * @return class, null if the Faker library is not on the classpath
+         */
+        private static Class<?> findClass(String className) {
+            try {
+                return Class.forName(className);
+            } catch (ClassNotFoundException | LinkageError e) {
+                return null;
+            }
+        }
+    }
+}
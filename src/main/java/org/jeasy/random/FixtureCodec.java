@@ -0,0 +1,487 @@
+package org.jeasy.random;
+
+import org.objenesis.Objenesis;
+import org.objenesis.ObjenesisStd;
+
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.*;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Compact binary codec of generated object graphs for the fixture corpus, see {@link FixtureCorpus}.
+ * <p>
+ * Beans are written field by field without requiring {@link java.io.Serializable} and are instantiated back with
+ * Objenesis, records through their canonical constructor. Shared references and cycles are written once and
+ * referenced afterwards, class names are written once per graph. JDK types other than boxed primitives, strings,
+ * enums, big numbers, dates, java.time values, arrays, collections and maps are not supported.
+ * <p>
+ * Java serialization is not used because generated domain classes are rarely {@link java.io.Serializable}, and the
+ * project has no JSON mapper dependency, which would also need setters or creators and type information for the
+ * abstract field types easy random fills. A file starts with a magic number, the format {@link #VERSION} and the seed
+ * of the value: files of another version or seed are generated again.
+ *
+ * @author linux_china
+ */
+final class FixtureCodec {
+    static final int MAGIC = 0x45524331;
+    /**
+     * version of the format, files of other versions are generated again
+     */
+    static final int VERSION = 1;
+    private static final byte NULL = 0;
+    private static final byte REF = 1;
+    private static final byte BOOLEAN = 2;
+    private static final byte BYTE = 3;
+    private static final byte SHORT = 4;
+    private static final byte CHAR = 5;
+    private static final byte INT = 6;
+    private static final byte LONG = 7;
+    private static final byte FLOAT = 8;
+    private static final byte DOUBLE = 9;
+    private static final byte STRING = 10;
+    private static final byte ENUM = 11;
+    private static final byte BIG_INTEGER = 12;
+    private static final byte BIG_DECIMAL = 13;
+    private static final byte DATE = 14;
+    private static final byte VALUE = 15;
+    private static final byte ARRAY = 16;
+    private static final byte COLLECTION = 17;
+    private static final byte MAP = 18;
+    private static final byte RECORD = 19;
+    private static final byte OBJECT = 20;
+    private static final Objenesis OBJENESIS = new ObjenesisStd(true);
+    private static final Map<String, Class<?>> PRIMITIVE_TYPES = Map.of("boolean", boolean.class, "byte", byte.class,
+            "short", short.class, "char", char.class, "int", int.class, "long", long.class, "float", float.class,
+            "double", double.class);
+    /**
+     * values written as text: class to formatter and parser
+     */
+    private static final Map<Class<?>, Map.Entry<Function<Object, String>, Function<String, Object>>> VALUES = new HashMap<>();
+    /**
+     * persistent fields of beans, super class fields first
+     */
+    private static final ClassValue<Field[]> FIELDS = new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            final List<Field> fields = new ArrayList<>();
+            for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+                final List<Field> declaredFields = new ArrayList<>();
+                for (Field field : clazz.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())) {
+                        field.setAccessible(true);
+                        declaredFields.add(field);
+                    }
+                }
+                fields.addAll(0, declaredFields);
+            }
+            return fields.toArray(new Field[0]);
+        }
+    };
+
+    static {
+        value(UUID.class, UUID::fromString);
+        value(URI.class, URI::create);
+        value(URL.class, text -> {
+            try {
+                return new URL(text);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        value(File.class, File::new);
+        value(Currency.class, Currency::getInstance);
+        VALUES.put(Locale.class, Map.entry(locale -> ((Locale) locale).toLanguageTag(), Locale::forLanguageTag));
+        value(LocalDate.class, LocalDate::parse);
+        value(LocalTime.class, LocalTime::parse);
+        value(LocalDateTime.class, LocalDateTime::parse);
+        value(Instant.class, Instant::parse);
+        value(ZonedDateTime.class, ZonedDateTime::parse);
+        value(OffsetDateTime.class, OffsetDateTime::parse);
+        value(OffsetTime.class, OffsetTime::parse);
+        value(Duration.class, Duration::parse);
+        value(Period.class, Period::parse);
+        value(Year.class, Year::parse);
+        value(YearMonth.class, YearMonth::parse);
+        value(MonthDay.class, MonthDay::parse);
+        value(ZoneOffset.class, ZoneOffset::of);
+        VALUES.put(GregorianCalendar.class, Map.entry(calendar -> ((Calendar) calendar).getTimeInMillis() + "|" + ((Calendar) calendar).getTimeZone().getID(), text -> {
+            final int separator = text.indexOf('|');
+            final Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone(text.substring(separator + 1)));
+            calendar.setTimeInMillis(Long.parseLong(text.substring(0, separator)));
+            return calendar;
+        }));
+    }
+
+    private FixtureCodec() {
+    }
+
+    private static void value(Class<?> type, Function<String, Object> parser) {
+        VALUES.put(type, Map.entry(Object::toString, parser));
+    }
+
+    /**
+     * encode an object graph, after a header with the format version and the seed it was generated from
+     *
+     * @param value value
+     * @param seed  seed of the value
+     * @param out   output
+     * @throws IOException                   I/O exception
+     * @throws UnsupportedOperationException if the graph contains an unsupported type
+     */
+    static void encode(Object value, long seed, DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(seed);
+        new Writer(out).write(value);
+    }
+
+    /**
+     * decode an object graph
+     *
+     * @param buffer buffer
+     * @param seed   expected seed of the value
+     * @return value
+     * @throws IllegalStateException if the buffer is not an encoded graph of this version and seed, or classes changed
+     */
+    static Object decode(ByteBuffer buffer, long seed) {
+        if (buffer.getInt() != MAGIC) {
+            throw new IllegalStateException("Not an easy random fixture");
+        }
+        if (buffer.getInt() != VERSION) {
+            throw new IllegalStateException("Unsupported easy random fixture version");
+        }
+        if (buffer.getLong() != seed) {
+            throw new IllegalStateException("Easy random fixture of another seed");
+        }
+        return new Reader(buffer).read();
+    }
+
+    private static final class Writer {
+        private final DataOutput out;
+        private final Map<Object, Integer> references = new IdentityHashMap<>();
+        private final Map<Class<?>, Integer> classes = new HashMap<>();
+
+        Writer(DataOutput out) {
+            this.out = out;
+        }
+
+        void write(Object value) throws IOException {
+            if (value == null) {
+                out.writeByte(NULL);
+            } else if (value instanceof String text) {
+                out.writeByte(STRING);
+                writeString(text);
+            } else if (value instanceof Integer number) {
+                out.writeByte(INT);
+                out.writeInt(number);
+            } else if (value instanceof Long number) {
+                out.writeByte(LONG);
+                out.writeLong(number);
+            } else if (value instanceof Double number) {
+                out.writeByte(DOUBLE);
+                out.writeDouble(number);
+            } else if (value instanceof Boolean bool) {
+                out.writeByte(BOOLEAN);
+                out.writeBoolean(bool);
+            } else if (value instanceof Float number) {
+                out.writeByte(FLOAT);
+                out.writeFloat(number);
+            } else if (value instanceof Byte number) {
+                out.writeByte(BYTE);
+                out.writeByte(number);
+            } else if (value instanceof Short number) {
+                out.writeByte(SHORT);
+                out.writeShort(number);
+            } else if (value instanceof Character character) {
+                out.writeByte(CHAR);
+                out.writeChar(character);
+            } else if (value instanceof Enum<?> constant) {
+                out.writeByte(ENUM);
+                writeClass(constant.getDeclaringClass());
+                writeString(constant.name());
+            } else if (value instanceof BigInteger number) {
+                out.writeByte(BIG_INTEGER);
+                writeString(number.toString());
+            } else if (value instanceof BigDecimal number) {
+                out.writeByte(BIG_DECIMAL);
+                writeString(number.toString());
+            } else if (value instanceof Date date) {
+                out.writeByte(DATE);
+                writeClass(date.getClass());
+                out.writeLong(date.getTime());
+            } else if (VALUES.containsKey(value.getClass())) {
+                out.writeByte(VALUE);
+                writeClass(value.getClass());
+                writeString(VALUES.get(value.getClass()).getKey().apply(value));
+            } else {
+                final Integer reference = references.get(value);
+                if (reference != null) {
+                    out.writeByte(REF);
+                    out.writeInt(reference);
+                    return;
+                }
+                references.put(value, references.size());
+                writeObject(value);
+            }
+        }
+
+        private void writeObject(Object value) throws IOException {
+            final Class<?> type = value.getClass();
+            if (type.isArray()) {
+                out.writeByte(ARRAY);
+                writeClass(type.getComponentType());
+                final int length = Array.getLength(value);
+                out.writeInt(length);
+                for (int i = 0; i < length; i++) {
+                    write(Array.get(value, i));
+                }
+            } else if (value instanceof Collection<?> collection) {
+                out.writeByte(COLLECTION);
+                writeClass(type);
+                out.writeInt(collection.size());
+                for (Object element : collection) {
+                    write(element);
+                }
+            } else if (value instanceof Map<?, ?> map) {
+                out.writeByte(MAP);
+                writeClass(type);
+                out.writeInt(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    write(entry.getKey());
+                    write(entry.getValue());
+                }
+            } else if (type.isRecord()) {
+                out.writeByte(RECORD);
+                writeClass(type);
+                for (RecordComponent component : type.getRecordComponents()) {
+                    try {
+                        final Method accessor = component.getAccessor();
+                        accessor.setAccessible(true);
+                        write(accessor.invoke(value));
+                    } catch (ReflectiveOperationException e) {
+                        throw new UnsupportedOperationException("Unable to read " + component, e);
+                    }
+                }
+            } else if (type.getName().startsWith("java.") || type.getName().startsWith("javax.") || type.isSynthetic()) {
+                throw new UnsupportedOperationException("Unsupported fixture type " + type.getName());
+            } else {
+                out.writeByte(OBJECT);
+                writeClass(type);
+                for (Field field : FIELDS.get(type)) {
+                    try {
+                        write(field.get(value));
+                    } catch (IllegalAccessException e) {
+                        throw new UnsupportedOperationException("Unable to read " + field, e);
+                    }
+                }
+            }
+        }
+
+        private void writeClass(Class<?> type) throws IOException {
+            final Integer id = classes.get(type);
+            if (id != null) {
+                out.writeInt(id);
+            } else {
+                classes.put(type, classes.size());
+                out.writeInt(-1);
+                writeString(type.getName());
+            }
+        }
+
+        private void writeString(String text) throws IOException {
+            final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static final class Reader {
+        private final ByteBuffer buffer;
+        private final List<Object> references = new ArrayList<>();
+        private final List<Class<?>> classes = new ArrayList<>();
+
+        Reader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Object read() {
+            final byte tag = buffer.get();
+            switch (tag) {
+                case NULL:
+                    return null;
+                case REF:
+                    return references.get(buffer.getInt());
+                case BOOLEAN:
+                    return buffer.get() != 0;
+                case BYTE:
+                    return buffer.get();
+                case SHORT:
+                    return buffer.getShort();
+                case CHAR:
+                    return buffer.getChar();
+                case INT:
+                    return buffer.getInt();
+                case LONG:
+                    return buffer.getLong();
+                case FLOAT:
+                    return buffer.getFloat();
+                case DOUBLE:
+                    return buffer.getDouble();
+                case STRING:
+                    return readString();
+                case ENUM:
+                    return Enum.valueOf((Class<Enum>) readClass(), readString());
+                case BIG_INTEGER:
+                    return new BigInteger(readString());
+                case BIG_DECIMAL:
+                    return new BigDecimal(readString());
+                case DATE:
+                    return readDate();
+                case VALUE: {
+                    final Class<?> type = readClass();
+                    return VALUES.get(type).getValue().apply(readString());
+                }
+                case ARRAY: {
+                    final Class<?> componentType = readClass();
+                    final Object array = Array.newInstance(componentType, buffer.getInt());
+                    references.add(array);
+                    for (int i = 0; i < Array.getLength(array); i++) {
+                        Array.set(array, i, read());
+                    }
+                    return array;
+                }
+                case COLLECTION: {
+                    final Collection<Object> collection = newCollection(readClass());
+                    references.add(collection);
+                    final int size = buffer.getInt();
+                    for (int i = 0; i < size; i++) {
+                        collection.add(read());
+                    }
+                    return collection;
+                }
+                case MAP: {
+                    final Map<Object, Object> map = newMap(readClass());
+                    references.add(map);
+                    final int size = buffer.getInt();
+                    for (int i = 0; i < size; i++) {
+                        map.put(read(), read());
+                    }
+                    return map;
+                }
+                case RECORD:
+                    return readRecord(readClass());
+                case OBJECT: {
+                    final Class<?> type = readClass();
+                    final Object bean = OBJENESIS.newInstance(type);
+                    references.add(bean);
+                    for (Field field : FIELDS.get(type)) {
+                        try {
+                            field.set(bean, read());
+                        } catch (IllegalAccessException e) {
+                            throw new IllegalStateException("Unable to set " + field, e);
+                        }
+                    }
+                    return bean;
+                }
+                default:
+                    throw new IllegalStateException("Unknown fixture tag " + tag);
+            }
+        }
+
+        private Object readDate() {
+            final Class<?> type = readClass();
+            final long time = buffer.getLong();
+            try {
+                return type.getConstructor(long.class).newInstance(time);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Unable to create " + type, e);
+            }
+        }
+
+        private Object readRecord(Class<?> type) {
+            final int reference = references.size();
+            references.add(null);
+            final RecordComponent[] components = type.getRecordComponents();
+            final Class<?>[] componentTypes = new Class<?>[components.length];
+            final Object[] values = new Object[components.length];
+            for (int i = 0; i < components.length; i++) {
+                componentTypes[i] = components[i].getType();
+                values[i] = read();
+            }
+            try {
+                final Constructor<?> constructor = type.getDeclaredConstructor(componentTypes);
+                constructor.setAccessible(true);
+                final Object record = constructor.newInstance(values);
+                references.set(reference, record);
+                return record;
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Unable to create " + type, e);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Collection<Object> newCollection(Class<?> type) {
+            try {
+                return (Collection<Object>) type.getConstructor().newInstance();
+            } catch (Exception e) {
+                // immutable and internal collections
+                if (SortedSet.class.isAssignableFrom(type)) {
+                    return new TreeSet<>();
+                } else if (Set.class.isAssignableFrom(type)) {
+                    return new LinkedHashSet<>();
+                } else if (Queue.class.isAssignableFrom(type)) {
+                    return new LinkedList<>();
+                }
+                return new ArrayList<>();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Map<Object, Object> newMap(Class<?> type) {
+            try {
+                return (Map<Object, Object>) type.getConstructor().newInstance();
+            } catch (Exception e) {
+                return SortedMap.class.isAssignableFrom(type) ? new TreeMap<>() : new LinkedHashMap<>();
+            }
+        }
+
+        private Class<?> readClass() {
+            final int id = buffer.getInt();
+            if (id >= 0) {
+                return classes.get(id);
+            }
+            final String name = readString();
+            Class<?> type = PRIMITIVE_TYPES.get(name);
+            if (type == null) {
+                try {
+                    type = Class.forName(name, false, FixtureCodec.class.getClassLoader());
+                } catch (ClassNotFoundException e) {
+                    try {
+                        type = Class.forName(name, false, Thread.currentThread().getContextClassLoader());
+                    } catch (ClassNotFoundException e2) {
+                        throw new IllegalStateException("Fixture class not found " + name, e2);
+                    }
+                }
+            }
+            classes.add(type);
+            return type;
+        }
+
+        private String readString() {
+            final byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package org.jeasy.random;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * On-disk corpus of generated fixtures, for elements annotated with {@code @Random(cached = true)}: the generated
+ * value is saved to a compact binary file (see {@link FixtureCodec}) and memory-mapped to be loaded by later runs.
+ * <p>
+ * Files are keyed by the element type, a hash of the structure of the types it reaches (class names, field names and
+ * field types), the element's annotations (size, constraints...), the easy random parameters and a seed, so that a
+ * changed domain class or annotation invalidates the entry. The seed is derived from the test's seed when the root
+ * seed is pinned ({@link RandomSeed} or {@code easy-random.seed}), from the element otherwise, so that runs with a
+ * root seed chosen by the JVM load the same file. Custom randomizers are not part of the key: clean the directory
+ * after changing them. The directory is configured with the {@code easy-random.corpus.directory} configuration
+ * parameter or system property, {@code target/easy-random-corpus} by default. Files not loaded for
+ * {@code easy-random.corpus.max-age-days} (30 by default) are deleted on first use of the corpus.
+ * <p>
+ * The file records the seed of the fixture. A loaded fixture is only replayed while its file is kept, so the seed
+ * report of a failing test names the file and the seed of its cached fixtures, see {@link SeededRandom#cached}.
+ *
+ * @author linux_china
+ */
+class FixtureCorpus {
+    static final String DIRECTORY_PROPERTY = "easy-random.corpus.directory";
+    static final String DEFAULT_DIRECTORY = "target/easy-random-corpus";
+    static final String MAX_AGE_DAYS_PROPERTY = "easy-random.corpus.max-age-days";
+    static final long DEFAULT_MAX_AGE_DAYS = 30;
+    private static final AtomicLong LOADS = new AtomicLong();
+    private static final AtomicLong SAVES = new AtomicLong();
+
+    private final Path directory;
+    private final Duration maxAge;
+    private final AtomicBoolean evicted = new AtomicBoolean();
+
+    FixtureCorpus(Path directory, Duration maxAge) {
+        this.directory = directory;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * create corpus from configuration of the root context
+     *
+     * @param root root extension context
+     * @return corpus
+     */
+    static FixtureCorpus of(ExtensionContext root) {
+        return new FixtureCorpus(Paths.get(root.getConfigurationParameter(DIRECTORY_PROPERTY).orElse(DEFAULT_DIRECTORY)),
+                Duration.ofDays(root.getConfigurationParameter(MAX_AGE_DAYS_PROPERTY).map(Long::parseLong).orElse(DEFAULT_MAX_AGE_DAYS)));
+    }
+
+    /**
+     * wrap a resolution plan with the corpus: load the value of the seed, or generate and save it.
+     * The value is generated from its own seed, so a loaded value and a generated one are the same.
+     *
+     * @param plan       plan
+     * @param resources  resources
+     * @param targetType element type
+     * @param element    annotated element
+     * @return caching plan
+     */
+    ResolutionPlan caching(ResolutionPlan plan, EasyRandomResources resources, Type targetType, AnnotatedElement element) {
+        final String key = targetType.getTypeName() + "\n" + schemaHash(targetType) + "\n"
+                + Arrays.toString(element.getAnnotations()) + "\n" + describe(resources.getParameters()) + "\n"
+                + EasyRandomExtension.class.getPackage().getImplementationVersion();
+        final String prefix = simpleName(targetType);
+        final String name = elementName(element);
+        final long elementSeed = SeededRandom.seed(0, name);
+        return random -> {
+            evictOnce();
+            final long seed = random.isPinned() ? random.nextSeed() : elementSeed;
+            final Path file = directory.resolve(prefix + "-" + sha256(key + "\n" + seed).substring(0, 32) + ".bin");
+            final Object loaded = load(file, seed);
+            if (loaded != null) {
+                LOADS.incrementAndGet();
+                random.cached(name, file, seed);
+                return loaded;
+            }
+            final Object value = random.fork(seed).generate(plan);
+            if (save(file, value, seed)) {
+                random.cached(name, file, seed);
+            }
+            return value;
+        };
+    }
+
+    /**
+     * count of fixtures loaded from the corpus since JVM start
+     *
+     * @return load count
+     */
+    static long loadCount() {
+        return LOADS.get();
+    }
+
+    /**
+     * count of fixtures saved to the corpus since JVM start
+     *
+     * @return save count
+     */
+    static long saveCount() {
+        return SAVES.get();
+    }
+
+    private static Object load(Path file, long seed) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            final Object value = FixtureCodec.decode(buffer, seed);
+            touch(file);
+            return value;
+        } catch (Exception e) {
+            // corrupted file or incompatible classes, generated again
+            return null;
+        }
+    }
+
+    /**
+     * mark a loaded file as used, at most once a day
+     */
+    private static void touch(Path file) throws IOException {
+        final FileTime now = FileTime.from(Instant.now());
+        if (Files.getLastModifiedTime(file).toInstant().isBefore(now.toInstant().minus(Duration.ofDays(1)))) {
+            Files.setLastModifiedTime(file, now);
+        }
+    }
+
+    /**
+     * delete the files of the directory not loaded for the max age, once per corpus
+     */
+    private void evictOnce() {
+        if (!evicted.compareAndSet(false, true) || !Files.isDirectory(directory)) {
+            return;
+        }
+        final Instant expiry = Instant.now().minus(maxAge);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.{bin,tmp}")) {
+            for (Path file : files) {
+                try {
+                    if (Files.getLastModifiedTime(file).toInstant().isBefore(expiry)) {
+                        Files.deleteIfExists(file);
+                    }
+                } catch (IOException ignore) {
+
+                }
+            }
+        } catch (IOException ignore) {
+            // not evicted
+        }
+    }
+
+    private boolean save(Path file, Object value, long seed) {
+        if (value == null) {
+            return false;
+        }
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                FixtureCodec.encode(value, seed, out);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            SAVES.incrementAndGet();
+            return true;
+        } catch (IOException | UnsupportedOperationException e) {
+            // not cached
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignore) {
+
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * hash of the structure of a type: class names, field names and field generic types of the types it reaches,
+     * JDK types are considered stable
+     *
+     * @param type type
+     * @return hex SHA-256 hash
+     */
+    static String schemaHash(Type type) {
+        final StringBuilder schema = new StringBuilder();
+        describe(type, schema, new HashSet<>());
+        return sha256(schema.toString());
+    }
+
+    private static void describe(Type type, StringBuilder schema, Set<Class<?>> visited) {
+        if (type instanceof ParameterizedType parameterizedType) {
+            describe(parameterizedType.getRawType(), schema, visited);
+            for (Type typeArgument : parameterizedType.getActualTypeArguments()) {
+                describe(typeArgument, schema, visited);
+            }
+        } else if (type instanceof GenericArrayType arrayType) {
+            describe(arrayType.getGenericComponentType(), schema, visited);
+        } else if (type instanceof Class<?> clazz) {
+            if (clazz.isArray()) {
+                describe(clazz.getComponentType(), schema, visited);
+                return;
+            }
+            if (clazz.isPrimitive() || clazz.getName().startsWith("java.") || !visited.add(clazz)) {
+                return;
+            }
+            schema.append(clazz.getName()).append('{');
+            if (clazz.isEnum()) {
+                for (Object constant : clazz.getEnumConstants()) {
+                    schema.append(((Enum<?>) constant).name()).append(',');
+                }
+            }
+            for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        schema.append(Modifier.toString(field.getModifiers())).append(' ')
+                                .append(field.getGenericType().getTypeName()).append(' ').append(field.getName())
+                                .append(Arrays.toString(field.getAnnotations())).append(';');
+                        describe(field.getGenericType(), schema, visited);
+                    }
+                }
+            }
+            schema.append('}');
+        } else {
+            schema.append(type.getTypeName());
+        }
+    }
+
+    private static String describe(EasyRandomParameters parameters) {
+        return parameters.getCollectionSizeRange().getMin() + "-" + parameters.getCollectionSizeRange().getMax()
+                + "," + parameters.getStringLengthRange().getMin() + "-" + parameters.getStringLengthRange().getMax()
+                + "," + parameters.getDateRange().getMin() + "-" + parameters.getDateRange().getMax()
+                + "," + parameters.getTimeRange().getMin() + "-" + parameters.getTimeRange().getMax()
+                + "," + parameters.getObjectPoolSize() + "," + parameters.getRandomizationDepth()
+                + "," + parameters.getCharset() + "," + parameters.isScanClasspathForConcreteTypes()
+                + "," + parameters.isOverrideDefaultInitialization() + "," + parameters.isBypassSetters()
+                + "," + parameters.getObjectFactory().getClass().getName();
+    }
+
+    private static String elementName(AnnotatedElement element) {
+        if (element instanceof Parameter parameter) {
+            return parameter.getDeclaringExecutable().toGenericString() + "#" + parameter.getName();
+        } else if (element instanceof Field field) {
+            return field.getDeclaringClass().getName() + "." + field.getName();
+        }
+        return String.valueOf(element);
+    }
+
+    private static String simpleName(Type type) {
+        final Type rawType = type instanceof ParameterizedType parameterizedType ? parameterizedType.getRawType() : type;
+        return rawType instanceof Class<?> clazz ? clazz.getSimpleName().replace("[]", "Array") : "Fixture";
+    }
+
+    private static String sha256(String text) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package org.jeasy.random;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.platform.commons.support.AnnotationSupport.findAnnotation;
+
+/**
+ * Generation time and allocation spent against a {@link RandomBudget} by a test, measured by {@link GenerationWindow}.
+ * The fields of a test instance are generated before the test's extension context exists: they are charged to a
+ * budget of their own, which the budget of the test absorbs when it is created, so a test has a single budget.
+ *
+ * @author linux_china
+ */
+final class GenerationBudget {
+    static final String MAX_MILLIS_PROPERTY = "easy-random.budget.max-millis";
+    static final String MAX_BYTES_PROPERTY = "easy-random.budget.max-bytes";
+    static final String ACTION_PROPERTY = "easy-random.budget.action";
+    private static final System.Logger LOGGER = System.getLogger(GenerationBudget.class.getName());
+
+    private final ExtensionContext extensionContext;
+    private final String scope;
+    private final long maxNanos;
+    private final long maxBytes;
+    private final RandomBudget.Action action;
+    private long nanos;
+    private long allocatedBytes;
+    private boolean exceeded;
+
+    GenerationBudget(ExtensionContext extensionContext, String scope, long maxMillis, long maxBytes, RandomBudget.Action action) {
+        this.extensionContext = extensionContext;
+        this.scope = scope;
+        this.maxNanos = maxMillis < 0 ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(maxMillis);
+        this.maxBytes = maxBytes < 0 ? Long.MAX_VALUE : maxBytes;
+        this.action = action;
+    }
+
+    /**
+     * create the budget of the extension context
+     *
+     * @param extensionContext extension context
+     * @param scope            scope description, such as the test method or the test instance
+     * @return budget, null if no budget is declared or configured
+     */
+    static GenerationBudget of(ExtensionContext extensionContext, String scope) {
+        final Optional<RandomBudget> annotation = extensionContext.getTestMethod()
+                .flatMap((Method method) -> findAnnotation(method, RandomBudget.class))
+                .or(() -> extensionContext.getTestClass().flatMap(testClass -> findAnnotation(testClass, RandomBudget.class)));
+        if (annotation.isPresent()) {
+            final RandomBudget budget = annotation.get();
+            return new GenerationBudget(extensionContext, scope, budget.maxMillis(), budget.maxBytes(), budget.action());
+        }
+        final long maxMillis = extensionContext.getConfigurationParameter(MAX_MILLIS_PROPERTY).map(Long::parseLong).orElse(-1L);
+        final long maxBytes = extensionContext.getConfigurationParameter(MAX_BYTES_PROPERTY).map(Long::parseLong).orElse(-1L);
+        if (maxMillis < 0 && maxBytes < 0) {
+            return null;
+        }
+        final RandomBudget.Action action = extensionContext.getConfigurationParameter(ACTION_PROPERTY)
+                .map(value -> RandomBudget.Action.valueOf(value.trim().toUpperCase())).orElse(RandomBudget.Action.FAIL);
+        return new GenerationBudget(extensionContext, scope, maxMillis, maxBytes, action);
+    }
+
+    /**
+     * charge the spending of another budget, such as the fields of the test instance, to this one
+     *
+     * @param spent budget charged with the fields of a test instance
+     * @throws RandomBudgetExceededException if the budget is exceeded and the action is {@link RandomBudget.Action#FAIL}
+     */
+    void absorb(GenerationBudget spent) {
+        final long spentNanos;
+        final long spentBytes;
+        synchronized (spent) {
+            spentNanos = spent.nanos;
+            spentBytes = spent.allocatedBytes;
+            if (spent.exceeded) {
+                synchronized (this) {
+                    exceeded = true;
+                }
+            }
+        }
+        charge(spent.scope, spentNanos, spentBytes);
+    }
+
+    /**
+     * charge a generation to the budget, fail or warn once when the budget is exceeded
+     *
+     * @param element      generated parameter or field
+     * @param elapsedNanos generation time
+     * @param allocated    allocated bytes
+     * @throws RandomBudgetExceededException if the budget is exceeded and the action is {@link RandomBudget.Action#FAIL}
+     */
+    void charge(String element, long elapsedNanos, long allocated) {
+        final String message;
+        synchronized (this) {
+            nanos += elapsedNanos;
+            allocatedBytes += allocated;
+            if (exceeded || (nanos <= maxNanos && allocatedBytes <= maxBytes)) {
+                return;
+            }
+            exceeded = true;
+            message = "easy-random budget exceeded by " + scope + " at " + element + ": "
+                    + TimeUnit.NANOSECONDS.toMillis(nanos) + " ms" + (maxNanos == Long.MAX_VALUE ? "" : " (max " + TimeUnit.NANOSECONDS.toMillis(maxNanos) + " ms)")
+                    + ", " + allocatedBytes + " bytes" + (maxBytes == Long.MAX_VALUE ? "" : " (max " + maxBytes + " bytes)");
+        }
+        if (action == RandomBudget.Action.FAIL) {
+            throw new RandomBudgetExceededException(message);
+        }
+        extensionContext.publishReportEntry("easy-random.budget", message);
+        LOGGER.log(System.Logger.Level.WARNING, message);
+    }
+}
@@ -0,0 +1,139 @@
+package org.jeasy.random;
+
+import jdk.jfr.*;
+import org.jeasy.random.internal.ThreadAllocations;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Parameter;
+
+/**
+ * JDK Flight Recorder event of a random generation: a parameter, a field or a record. Allocated bytes of a parameter
+ * or a field are those of the generating thread and of the chunks of parallel bulk generation, without lazy setup,
+ * see {@link GenerationWindow}. When the event is not enabled, the cost is a disabled check.
+ *
+ * @author linux_china
+ */
+@Name("org.jeasy.random.Generation")
+@Label("Random Generation")
+@Category("Easy Random")
+@Description("Random generation of a parameter, a field or a record")
+@StackTrace(false)
+final class GenerationEvent extends Event {
+    @Label("Kind")
+    @Description("parameter, field or record")
+    String kind;
+    @Label("Element")
+    String element;
+    @Label("Target Type")
+    String targetType;
+    @Label("Handler")
+    String handler;
+    @Label("Size")
+    long size;
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+
+    /**
+     * generate the value of a parameter or a field, in an event if enabled, recorded in {@link GenerationStats}
+     * if a report session is active and charged to the budget if any
+     *
+     * @param testClass test class, null if unknown
+     * @param element   parameter or field
+     * @param plan      resolution plan
+     * @param random    seeded random
+     * @param budget    generation budget, null if none
+     * @return value
+     */
+    static Object generate(Class<?> testClass, Object element, ResolutionPlan plan, SeededRandom random, GenerationBudget budget) {
+        final GenerationEvent event = new GenerationEvent();
+        final boolean stats = GenerationStats.isEnabled();
+        if (!event.isEnabled() && !stats && budget == null) {
+            return random.generate(plan);
+        }
+        final GenerationWindow window = GenerationWindow.open();
+        final Object value;
+        try {
+            event.begin();
+            value = random.generate(plan);
+            event.end();
+        } finally {
+            window.close();
+        }
+        final long allocatedBytes = window.allocatedBytes();
+        final long nanos = window.nanos();
+        if (stats) {
+            final long size = plan.size() == Long.MAX_VALUE ? 0 : plan.size();
+            GenerationStats.record(testClass, targetType(element), size == 0 ? 1 : size, nanos, allocatedBytes);
+        }
+        if (event.shouldCommit()) {
+            if (element instanceof Parameter) {
+                event.kind = "parameter";
+            } else if (element instanceof Field) {
+                event.kind = "field";
+            }
+            event.element = elementName(element);
+            event.targetType = targetType(element);
+            event.handler = plan.handler();
+            event.size = plan.size();
+            event.allocatedBytes = allocatedBytes;
+            event.commit();
+        }
+        if (budget != null) {
+            budget.charge(elementName(element), nanos, allocatedBytes);
+        }
+        return value;
+    }
+
+    private static String elementName(Object element) {
+        if (element instanceof Parameter parameter) {
+            return parameter.getDeclaringExecutable().getDeclaringClass().getName() + "."
+                    + parameter.getDeclaringExecutable().getName() + "(" + parameter.getName() + ")";
+        } else if (element instanceof Field field) {
+            return field.getDeclaringClass().getName() + "." + field.getName();
+        }
+        return String.valueOf(element);
+    }
+
+    private static String targetType(Object element) {
+        if (element instanceof Parameter parameter) {
+            return parameter.getParameterizedType().getTypeName();
+        } else if (element instanceof Field field) {
+            return field.getGenericType().getTypeName();
+        }
+        return String.valueOf(element);
+    }
+
+    /**
+     * begin the event of a record
+     *
+     * @return allocated bytes of the current thread, -1 if the event is disabled
+     */
+    long beginRecord() {
+        if (!isEnabled()) {
+            return -1;
+        }
+        final long allocated = ThreadAllocations.allocatedBytes();
+        begin();
+        return allocated;
+    }
+
+    /**
+     * commit the event of a record
+     *
+     * @param recordType record type
+     * @param allocated  allocated bytes at begin
+     */
+    void commitRecord(Class<?> recordType, long allocated) {
+        end();
+        if (shouldCommit()) {
+            kind = "record";
+            element = recordType.getName();
+            targetType = recordType.getName();
+            handler = RecordFactory.class.getSimpleName();
+            size = recordType.getRecordComponents().length;
+            allocatedBytes = ThreadAllocations.allocatedBytes() - allocated;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.jeasy.random;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Generation statistics of parameters and fields, per test class and per target type, collected while a
+ * {@link EasyRandomReportListener} session is active. Streams are generated lazily, only their creation is measured.
+ *
+ * @author linux_china
+ */
+final class GenerationStats {
+    private static final List<GenerationStats> ACTIVE = new CopyOnWriteArrayList<>();
+
+    private final Map<String, Counters> testClasses = new ConcurrentHashMap<>();
+    private final Map<String, Counters> targetTypes = new ConcurrentHashMap<>();
+
+    /**
+     * are statistics collected
+     *
+     * @return true if a session is active
+     */
+    static boolean isEnabled() {
+        return !ACTIVE.isEmpty();
+    }
+
+    /**
+     * start collecting statistics, until {@link #stop()}
+     *
+     * @return statistics
+     */
+    static GenerationStats start() {
+        final GenerationStats stats = new GenerationStats();
+        ACTIVE.add(stats);
+        return stats;
+    }
+
+    void stop() {
+        ACTIVE.remove(this);
+    }
+
+    static void record(Class<?> testClass, String targetType, long objects, long nanos, long allocatedBytes) {
+        final String testClassName = testClass != null ? testClass.getName() : "unknown";
+        for (GenerationStats stats : ACTIVE) {
+            stats.testClasses.computeIfAbsent(testClassName, key -> new Counters()).add(objects, nanos, allocatedBytes);
+            stats.targetTypes.computeIfAbsent(targetType, key -> new Counters()).add(objects, nanos, allocatedBytes);
+        }
+    }
+
+    boolean isEmpty() {
+        return testClasses.isEmpty();
+    }
+
+    List<Entry> testClasses() {
+        return entries(testClasses);
+    }
+
+    List<Entry> targetTypes() {
+        return entries(targetTypes);
+    }
+
+    /**
+     * top entries for a metric
+     *
+     * @param entries entries
+     * @param metric  metric
+     * @param limit   max entries
+     * @return entries sorted by metric, descending
+     */
+    static List<Entry> top(List<Entry> entries, ToLongFunction<Entry> metric, int limit) {
+        return entries.stream().sorted(Comparator.comparingLong(metric).reversed()).limit(limit).toList();
+    }
+
+    private static List<Entry> entries(Map<String, Counters> counters) {
+        final List<Entry> entries = new ArrayList<>();
+        counters.forEach((name, counter) -> entries.add(new Entry(name, counter.generations.sum(), counter.objects.sum(),
+                counter.nanos.sum(), counter.allocatedBytes.sum())));
+        return entries;
+    }
+
+    /**
+     * statistics of a test class or a target type
+     *
+     * @param name           test class or target type name
+     * @param generations    generated parameters and fields
+     * @param objects        generated objects, elements of collections included
+     * @param nanos          generation time
+     * @param allocatedBytes bytes allocated by the generating threads
+     */
+    record Entry(String name, long generations, long objects, long nanos, long allocatedBytes) {
+    }
+
+    private static final class Counters {
+        private final LongAdder generations = new LongAdder();
+        private final LongAdder objects = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+
+        void add(long objectCount, long time, long allocated) {
+            generations.increment();
+            objects.add(objectCount);
+            nanos.add(time);
+            allocatedBytes.add(allocated);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package org.jeasy.random;
+
+import org.jeasy.random.internal.ThreadAllocations;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Measured window of a generation on the current thread, for {@link GenerationEvent}, {@link GenerationStats} and
+ * {@link GenerationBudget}: engines, randomizers and fakers built lazily on first use, see
+ * {@link RandomSource#detached(Supplier)}, are setup and are not measured, while the allocations of the worker threads
+ * of bulk generation are measured per chunk and added to the window.
+ *
+ * @author linux_china
+ */
+final class GenerationWindow {
+    private static final ThreadLocal<GenerationWindow> CURRENT = new ThreadLocal<>();
+
+    private final GenerationWindow previous;
+    private final Thread thread = Thread.currentThread();
+    private final long startNanos;
+    private final long startBytes;
+    private final LongAdder workerBytes = new LongAdder();
+    private long setupNanos;
+    private long setupBytes;
+    private int setupDepth;
+    private long nanos;
+    private long allocatedBytes;
+
+    private GenerationWindow() {
+        this.previous = CURRENT.get();
+        this.startBytes = ThreadAllocations.allocatedBytes();
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * open a window on the current thread, it must be closed by the same thread
+     *
+     * @return window
+     */
+    static GenerationWindow open() {
+        final GenerationWindow window = new GenerationWindow();
+        CURRENT.set(window);
+        return window;
+    }
+
+    /**
+     * window of the current thread, to be shared with the worker threads of bulk generation
+     *
+     * @return window, null if none
+     */
+    static GenerationWindow current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * build lazily created resources outside of the window of the current thread, if any
+     *
+     * @param builder builder
+     * @param <T>     built type
+     * @return built value
+     */
+    static <T> T setup(Supplier<T> builder) {
+        final GenerationWindow window = CURRENT.get();
+        if (window == null || window.setupDepth > 0) {
+            return builder.get();
+        }
+        window.setupDepth++;
+        final long bytes = ThreadAllocations.allocatedBytes();
+        final long start = System.nanoTime();
+        try {
+            return builder.get();
+        } finally {
+            window.setupNanos += System.nanoTime() - start;
+            window.setupBytes += ThreadAllocations.allocatedBytes() - bytes;
+            window.setupDepth--;
+        }
+    }
+
+    /**
+     * generate a chunk of a bulk generation: on a worker thread, the allocations of the chunk are added to the window
+     *
+     * @param window window of the generating thread, null if none
+     * @param chunk  chunk generation
+     */
+    static void chunk(GenerationWindow window, Runnable chunk) {
+        if (window == null || window.thread == Thread.currentThread()) {
+            chunk.run();
+            return;
+        }
+        final GenerationWindow worker = open();
+        try {
+            chunk.run();
+        } finally {
+            worker.close();
+            window.workerBytes.add(worker.allocatedBytes);
+        }
+    }
+
+    /**
+     * close the window, the window of the enclosing generation, if any, is restored
+     */
+    void close() {
+        nanos = System.nanoTime() - startNanos - setupNanos;
+        allocatedBytes = ThreadAllocations.allocatedBytes() - startBytes - setupBytes + workerBytes.sum();
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * generation time of the closed window, without setup
+     *
+     * @return nanos
+     */
+    long nanos() {
+        return nanos;
+    }
+
+    /**
+     * bytes allocated by the generating thread and the workers of the closed window, without setup
+     *
+     * @return allocated bytes
+     */
+    long allocatedBytes() {
+        return allocatedBytes;
+    }
+}
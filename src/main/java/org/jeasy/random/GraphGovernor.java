@@ -0,0 +1,309 @@
+package org.jeasy.random;
+
+import org.jeasy.random.api.ExclusionPolicy;
+import org.jeasy.random.api.RandomizerContext;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.jeasy.random.util.ReflectionUtils.*;
+
+/**
+ * Object graph governor of a {@link Random} target with {@code maxDepth}, {@code maxObjects} or
+ * {@code maxCollectionSize}: limits are enforced on the generating threads through the exclusion policy of the
+ * engines, in {@link RecordFactory} and in the size handlers, whose nested engines start a new randomization context.
+ * <p>
+ * The root object is at depth 1, elements of a collection are at the depth of the collection. Beyond the max depth or
+ * once max objects are created, objects, collections, maps and arrays are left null, collections of size handlers
+ * are empty and elements of top level collections are dropped. Values such as strings, numbers and dates are
+ * always generated.
+ *
+ * @author linux_china
+ */
+public final class GraphGovernor {
+    private static final ThreadLocal<Scope> SCOPE = new ThreadLocal<>();
+
+    private final Limits limits;
+    private final AtomicLong objects = new AtomicLong();
+
+    private GraphGovernor(Limits limits) {
+        this.limits = limits;
+    }
+
+    /**
+     * governor limits of the annotation
+     *
+     * @param annotation random annotation
+     * @return limits, null if the annotation has none
+     */
+    static Limits limits(Random annotation) {
+        if (annotation.maxDepth() < 0 && annotation.maxObjects() < 0 && annotation.maxCollectionSize() < 0) {
+            return null;
+        }
+        return new Limits(annotation.maxDepth() < 0 ? Integer.MAX_VALUE : annotation.maxDepth(),
+                annotation.maxObjects() < 0 ? Long.MAX_VALUE : annotation.maxObjects(),
+                annotation.maxCollectionSize() < 0 ? Integer.MAX_VALUE : annotation.maxCollectionSize());
+    }
+
+    /**
+     * generate a value with a new governor on the current thread
+     *
+     * @param limits    limits
+     * @param generator generator
+     * @param <T>       value type
+     * @return value
+     */
+    static <T> T govern(Limits limits, Supplier<T> generator) {
+        return new GraphGovernor(limits).govern(generator);
+    }
+
+    /**
+     * governor of the current thread, to be shared with the threads of parallel generation
+     *
+     * @return governor, null if none
+     */
+    static GraphGovernor current() {
+        final Scope scope = SCOPE.get();
+        return scope != null ? scope.governor : null;
+    }
+
+    /**
+     * generate a value with this governor on the current thread, at the top of the graph
+     *
+     * @param generator generator
+     * @param <T>       value type
+     * @return value
+     */
+    <T> T govern(Supplier<T> generator) {
+        final Scope previous = SCOPE.get();
+        SCOPE.set(new Scope(this, 0));
+        try {
+            return generator.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    Limits getLimits() {
+        return limits;
+    }
+
+    boolean isExhausted() {
+        return objects.get() >= limits.maxObjects();
+    }
+
+    /**
+     * generate the elements of a collection, a map or an array with a nested engine, such as the engines of size
+     * handlers: the new randomization context starts at the depth of the collection
+     *
+     * @param generator generator
+     * @param <T>       value type
+     * @return value
+     */
+    public static <T> T nested(Supplier<T> generator) {
+        final Scope scope = SCOPE.get();
+        if (scope == null) {
+            return generator.get();
+        }
+        SCOPE.set(new Scope(scope.governor, scope.elementDepth - 1));
+        try {
+            return generator.get();
+        } finally {
+            SCOPE.set(scope);
+        }
+    }
+
+    /**
+     * size of a collection, a map or an array generated by a size handler
+     *
+     * @param size requested size
+     * @return size capped to the max collection size, 0 beyond the max depth or once max objects are created
+     */
+    public static int collectionSize(int size) {
+        final Scope scope = SCOPE.get();
+        if (scope == null) {
+            return size;
+        }
+        final GraphGovernor governor = scope.governor;
+        if (scope.elementDepth > governor.limits.maxDepth() || governor.isExhausted()) {
+            return 0;
+        }
+        return Math.min(size, governor.limits.maxCollectionSize());
+    }
+
+    /**
+     * limits of the engine for the current thread
+     *
+     * @return limits with a max collection size, null if none
+     */
+    static Limits collectionLimits() {
+        final Scope scope = SCOPE.get();
+        return scope != null && scope.governor.limits.maxCollectionSize() != Integer.MAX_VALUE ? scope.governor.limits : null;
+    }
+
+    /**
+     * enter the components of a record, components are one level deeper than the record
+     *
+     * @return true if governed, {@link #exitRecord()} must be called
+     */
+    static boolean enterRecord() {
+        final Scope scope = SCOPE.get();
+        if (scope == null) {
+            return false;
+        }
+        scope.recordDepth++;
+        return true;
+    }
+
+    /**
+     * mark the record component about to be generated by a randomizer, such as a size handler
+     *
+     * @param context randomization context of the record
+     */
+    static void recordComponent(RandomizerContext context) {
+        final Scope scope = SCOPE.get();
+        if (scope != null) {
+            scope.elementDepth = scope.depth(context);
+        }
+    }
+
+    static void exitRecord() {
+        SCOPE.get().recordDepth--;
+    }
+
+    /**
+     * wrap the exclusion policy of parameters with the governor of the current thread, which is a no-op when no
+     * governor is active
+     *
+     * @param parameters parameters
+     * @return parameters
+     */
+    static EasyRandomParameters governed(EasyRandomParameters parameters) {
+        if (!(parameters.getExclusionPolicy() instanceof GovernedExclusionPolicy)) {
+            parameters.exclusionPolicy(new GovernedExclusionPolicy(parameters.getExclusionPolicy()));
+        }
+        return parameters;
+    }
+
+    private static void restore(Scope previous) {
+        if (previous == null) {
+            SCOPE.remove();
+        } else {
+            SCOPE.set(previous);
+        }
+    }
+
+    /**
+     * objects, collections, maps and arrays are governed, values are not
+     */
+    private static boolean isGoverned(Class<?> type) {
+        return isObject(type) || isArrayType(type) || isCollectionType(type) || isMapType(type);
+    }
+
+    /**
+     * beans and records, JDK types such as strings and dates are values
+     */
+    private static boolean isObject(Class<?> type) {
+        return !type.isPrimitive() && !type.isEnum() && type.getClassLoader() != null
+                && !type.getName().startsWith("java.") && !type.getName().startsWith("javax.") && isIntrospectable(type);
+    }
+
+    /**
+     * governor limits
+     *
+     * @param maxDepth          max depth, the root object is at depth 1
+     * @param maxObjects        max objects, beans and records
+     * @param maxCollectionSize max size of nested collections, maps and arrays
+     */
+    record Limits(int maxDepth, long maxObjects, int maxCollectionSize) {
+
+        /**
+         * cap the collection size range of parameters
+         *
+         * @param parameters parameters
+         * @return parameters
+         */
+        EasyRandomParameters apply(EasyRandomParameters parameters) {
+            final EasyRandomParameters.Range<Integer> range = parameters.getCollectionSizeRange();
+            return parameters.collectionSizeRange(Math.min(range.getMin(), maxCollectionSize), Math.min(range.getMax(), maxCollectionSize));
+        }
+    }
+
+    /**
+     * governor state of a thread
+     */
+    private static final class Scope {
+        private final GraphGovernor governor;
+        /**
+         * depth of the randomization context root, minus 1
+         */
+        private final int depthOffset;
+        /**
+         * depth added by records, whose components are generated without a new context level
+         */
+        private int recordDepth;
+        /**
+         * depth of the last field or record component, the elements of its collection are at the same depth
+         */
+        private int elementDepth;
+
+        Scope(GraphGovernor governor, int depthOffset) {
+            this.governor = governor;
+            this.depthOffset = depthOffset;
+            this.elementDepth = depthOffset + 1;
+        }
+
+        /**
+         * depth of an object generated in a context
+         */
+        int depth(RandomizerContext context) {
+            return depthOffset + recordDepth + context.getCurrentRandomizationDepth() + 1;
+        }
+    }
+
+    /**
+     * exclusion policy enforcing the governor of the current thread
+     */
+    private static final class GovernedExclusionPolicy implements ExclusionPolicy {
+        private final ExclusionPolicy delegate;
+
+        GovernedExclusionPolicy(ExclusionPolicy delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean shouldBeExcluded(Field field, RandomizerContext context) {
+            if (delegate.shouldBeExcluded(field, context)) {
+                return true;
+            }
+            final Scope scope = SCOPE.get();
+            if (scope == null) {
+                return false;
+            }
+            // the value of a field is one level deeper than its object
+            scope.elementDepth = scope.depth(context) + 1;
+            return isGoverned(field.getType())
+                    && (scope.elementDepth > scope.governor.limits.maxDepth() || scope.governor.isExhausted());
+        }
+
+        @Override
+        public boolean shouldBeExcluded(Class<?> type, RandomizerContext context) {
+            if (delegate.shouldBeExcluded(type, context)) {
+                return true;
+            }
+            final Scope scope = SCOPE.get();
+            if (scope == null || !isGoverned(type)) {
+                return false;
+            }
+            final GraphGovernor governor = scope.governor;
+            if (scope.depth(context) > governor.limits.maxDepth()) {
+                return true;
+            }
+            if (isObject(type)) {
+                return governor.objects.getAndIncrement() >= governor.limits.maxObjects();
+            }
+            return governor.isExhausted();
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package org.jeasy.random;
+
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pre-generation pools of hot fixture types, opt-in with configuration parameters or system properties:
+ *
+ * <ul>
+ *   <li>{@code easy-random.pool.types}: comma separated class names of pooled types, no pool by default
+ *   <li>{@code easy-random.pool.capacity}: pooled instances per type, 64 by default
+ *   <li>{@code easy-random.pool.low-watermark}: a pool is refilled when it holds this many instances or fewer,
+ *   capacity / 4 by default
+ *   <li>{@code easy-random.pool.evict-on-close}: drop pooled instances when the root context is closed, true by default;
+ *   with false, instances of the default resources are kept for the next session in the same JVM
+ * </ul>
+ * <p>
+ * Pools are filled when a test class starts, by a producer thread per type (a virtual thread on Java 21+), each with
+ * its own engine and a source seeded from the root seed and the type. Every instance is handed out once, an empty pool
+ * falls back to synchronous generation. Pooled instances are handed out in the order tests take them, so they do not
+ * depend on the test's seed: tests with a pinned root seed, {@link RandomSeed} replays or the {@code easy-random.seed}
+ * configuration, do not use the pools, and no pool is filled when the root seed is configured. A test taking pooled
+ * instances records their types in its {@link SeededRandom}, and the seed reported on failure says they are not
+ * replayed. Pools need engine
+ * copies, so they are disabled for extensions built with a parameters instance.
+ *
+ * @author linux_china
+ */
+class ObjectPools implements ExtensionContext.Store.CloseableResource {
+    static final String TYPES_PROPERTY = "easy-random.pool.types";
+    static final String CAPACITY_PROPERTY = "easy-random.pool.capacity";
+    static final String LOW_WATERMARK_PROPERTY = "easy-random.pool.low-watermark";
+    static final String EVICT_ON_CLOSE_PROPERTY = "easy-random.pool.evict-on-close";
+    private static final System.Logger LOGGER = System.getLogger(ObjectPools.class.getName());
+    /**
+     * instances of the default resources kept between sessions when pools are not evicted on close, held by the class
+     * value of the type so that they do not keep its class loader alive
+     */
+    private static final ClassValue<AtomicReference<BlockingQueue<Object>>> RETAINED = new ClassValue<>() {
+        @Override
+        protected AtomicReference<BlockingQueue<Object>> computeValue(Class<?> type) {
+            return new AtomicReference<>();
+        }
+    };
+    private static final MethodHandle NEW_VIRTUAL_THREAD = virtualThreadFactory();
+
+    private final boolean evictOnClose;
+    private final boolean retained;
+    private final Map<Class<?>, Pool> pools = new HashMap<>();
+
+    private ObjectPools(EasyRandomResources resources, ExtensionContext root, Set<Class<?>> types, int capacity, int lowWatermark) {
+        final long rootSeed = SeededRandom.rootSeed(root);
+        this.evictOnClose = root.getConfigurationParameter(EVICT_ON_CLOSE_PROPERTY).map(Boolean::parseBoolean).orElse(true);
+        this.retained = !evictOnClose && resources.isDefault();
+        for (Class<?> type : types) {
+            final BlockingQueue<Object> queue = retained ? retainedQueue(type, capacity) : new ArrayBlockingQueue<>(capacity);
+            pools.put(type, new Pool(type, resources, SeededRandom.seed(rootSeed, "pool:" + type.getName()), queue, lowWatermark));
+        }
+    }
+
+    /**
+     * create pools from configuration of the root context
+     *
+     * @param resources resources
+     * @param root      root extension context
+     * @return pools, empty if no pooled type is configured or the root seed is configured
+     * @throws ExtensionConfigurationException if a pooled type is not found
+     */
+    static ObjectPools of(EasyRandomResources resources, ExtensionContext root) {
+        final Set<Class<?>> types = new LinkedHashSet<>();
+        if (SeededRandom.pinnedRootSeed(root).isEmpty()) {
+            for (String typeName : root.getConfigurationParameter(TYPES_PROPERTY).orElse("").split(",")) {
+                if (!typeName.isBlank()) {
+                    try {
+                        types.add(Class.forName(typeName.trim(), false, Thread.currentThread().getContextClassLoader()));
+                    } catch (ClassNotFoundException e) {
+                        throw new ExtensionConfigurationException("Pooled type not found in " + TYPES_PROPERTY + ": " + typeName.trim(), e);
+                    }
+                }
+            }
+        }
+        final int capacity = root.getConfigurationParameter(CAPACITY_PROPERTY).map(Integer::parseInt).orElse(64);
+        final int lowWatermark = root.getConfigurationParameter(LOW_WATERMARK_PROPERTY).map(Integer::parseInt).orElse(capacity / 4);
+        return new ObjectPools(resources, root, types, capacity, lowWatermark);
+    }
+
+    private static BlockingQueue<Object> retainedQueue(Class<?> type, int capacity) {
+        final AtomicReference<BlockingQueue<Object>> queue = RETAINED.get(type);
+        queue.compareAndSet(null, new ArrayBlockingQueue<>(capacity));
+        return queue.get();
+    }
+
+    /**
+     * start producers of pools below their low watermark
+     */
+    void fill() {
+        for (Pool pool : pools.values()) {
+            pool.fillIfLow();
+        }
+    }
+
+    /**
+     * get the pool of a type, only for the seeded randoms without pinned root seed
+     *
+     * @param type type
+     * @return pool, null if the type is not pooled
+     */
+    Pool get(Class<?> type) {
+        return pools.get(type);
+    }
+
+    @Override
+    public void close() {
+        for (Pool pool : pools.values()) {
+            pool.close(evictOnClose || !retained);
+        }
+    }
+
+    /**
+     * pool of pre-generated instances of a type
+     */
+    static final class Pool {
+        private final Class<?> type;
+        private final EasyRandomResources resources;
+        /**
+         * source of the producer, seeded from the root seed and the type
+         */
+        private final SplittableRandom source;
+        private final BlockingQueue<Object> queue;
+        private final int lowWatermark;
+        private final AtomicBoolean producing = new AtomicBoolean();
+        private volatile boolean closed;
+        private EasyRandom easyRandom;
+
+        Pool(Class<?> type, EasyRandomResources resources, long seed, BlockingQueue<Object> queue, int lowWatermark) {
+            this.type = type;
+            this.resources = resources;
+            this.source = new SplittableRandom(seed);
+            this.queue = queue;
+            this.lowWatermark = lowWatermark;
+        }
+
+        /**
+         * take a pre-generated instance, recorded as not replayed by the seeded random, or generate one with the
+         * seeded random's engine
+         *
+         * @param random seeded random of the test
+         * @return instance
+         */
+        Object take(SeededRandom random) {
+            final Object value = queue.poll();
+            fillIfLow();
+            if (value != null) {
+                PoolStats.hit(type);
+                random.pooled(type);
+                return value;
+            }
+            PoolStats.miss(type);
+            return random.getEasyRandom().nextObject(type);
+        }
+
+        void fillIfLow() {
+            if (!closed && queue.size() <= lowWatermark && producing.compareAndSet(false, true)) {
+                newThread(this::produce, "easy-random-pool-" + type.getSimpleName()).start();
+            }
+        }
+
+        private void produce() {
+            try {
+                if (easyRandom == null) {
+                    easyRandom = resources.newEasyRandom();
+                }
+                while (!closed && queue.remainingCapacity() > 0) {
+                    queue.offer(RandomSource.with(source, () -> easyRandom.nextObject(type)));
+                }
+            } catch (Exception e) {
+                // the pool stops, tests generate the type synchronously and get the failure themselves
+                LOGGER.log(System.Logger.Level.WARNING, "easy-random pool of " + type.getName() + " stopped", e);
+                closed = true;
+            } finally {
+                producing.set(false);
+            }
+        }
+
+        void close(boolean evict) {
+            closed = true;
+            if (evict) {
+                queue.clear();
+            }
+        }
+    }
+
+    private static Thread newThread(Runnable task, String name) {
+        Thread thread = null;
+        if (NEW_VIRTUAL_THREAD != null) {
+            try {
+                thread = (Thread) NEW_VIRTUAL_THREAD.invoke(task);
+            } catch (Throwable ignore) {
+
+            }
+        }
+        if (thread == null) {
+            thread = new Thread(task);
+            thread.setDaemon(true);
+        }
+        thread.setName(name);
+        return thread;
+    }
+
+    /**
+     * {@code Thread.ofVirtual().unstarted(task)} on Java 21+
+     *
+     * @return {@code (Runnable)Thread} handle, null before Java 21
+     */
+    private static MethodHandle virtualThreadFactory() {
+        try {
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            final MethodHandle ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(Class.forName("java.lang.Thread$Builder$OfVirtual")));
+            final MethodHandle unstarted = lookup.findVirtual(builderClass, "unstarted", MethodType.methodType(Thread.class, Runnable.class));
+            return MethodHandles.foldArguments(unstarted, ofVirtual.asType(MethodType.methodType(builderClass)))
+                    .asType(MethodType.methodType(Thread.class, Runnable.class));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
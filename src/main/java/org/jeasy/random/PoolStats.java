@@ -0,0 +1,74 @@
+package org.jeasy.random;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hit and miss counts of the pre-generation pools, per pooled type since JVM start, see {@link ObjectPools}
+ *
+ * @author linux_china
+ */
+public final class PoolStats {
+    private static final Map<Class<?>, LongAdder> HITS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, LongAdder> MISSES = new ConcurrentHashMap<>();
+
+    private PoolStats() {
+    }
+
+    /**
+     * count of instances taken from the pool of the type
+     *
+     * @param type pooled type
+     * @return hits count
+     */
+    public static long hits(Class<?> type) {
+        final LongAdder hits = HITS.get(type);
+        return hits != null ? hits.sum() : 0;
+    }
+
+    /**
+     * count of instances of the type generated synchronously because its pool was empty
+     *
+     * @param type pooled type
+     * @return misses count
+     */
+    public static long misses(Class<?> type) {
+        final LongAdder misses = MISSES.get(type);
+        return misses != null ? misses.sum() : 0;
+    }
+
+    /**
+     * count of instances taken from all pools
+     *
+     * @return hits count
+     */
+    public static long hitCount() {
+        return HITS.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * count of instances of pooled types generated synchronously
+     *
+     * @return misses count
+     */
+    public static long missCount() {
+        return MISSES.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * clear statistics
+     */
+    public static void reset() {
+        HITS.clear();
+        MISSES.clear();
+    }
+
+    static void hit(Class<?> type) {
+        HITS.computeIfAbsent(type, key -> new LongAdder()).increment();
+    }
+
+    static void miss(Class<?> type) {
+        MISSES.computeIfAbsent(type, key -> new LongAdder()).increment();
+    }
+}
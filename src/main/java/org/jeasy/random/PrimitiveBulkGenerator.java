@@ -0,0 +1,307 @@
+package org.jeasy.random;
+
+import org.jeasy.random.api.RandomizerRegistry;
+
+import java.lang.reflect.Array;
+import java.util.*;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.stream.BaseStream;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Bulk generator for primitive arrays, numeric collections and primitive streams, without easy random engine.
+ * Element {@code i} only depends on the seed and {@code i} (splitmix64 counter), so large arrays are filled in parallel
+ * and streams split freely, with the same output whatever the number of threads. Values follow the distributions
+ * of easy random's randomizers: full range for integral types, {@code [0, 1)} for floating point types.
+ *
+ * @author linux_china
+ */
+final class PrimitiveBulkGenerator {
+    /**
+     * minimal size to fill in parallel
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+    /**
+     * elements per chunk of a parallel fill
+     */
+    private static final int CHUNK_SIZE = 1 << 14;
+    private static final Map<Class<?>, Class<?>> PRIMITIVE_TYPES = Map.of(
+            Integer.class, int.class, Long.class, long.class, Double.class, double.class, Float.class, float.class,
+            Short.class, short.class, Byte.class, byte.class, Boolean.class, boolean.class);
+
+    private PrimitiveBulkGenerator() {
+    }
+
+    /**
+     * can elements of the type be generated in bulk: primitive or wrapper type without custom randomizer
+     *
+     * @param resources resources
+     * @param type      element type
+     * @return supported or not
+     */
+    static boolean supports(EasyRandomResources resources, Class<?> type) {
+        final Class<?> primitiveType = primitiveType(type);
+        if (primitiveType == null) {
+            return false;
+        }
+        final EasyRandomParameters parameters = resources.getParameters();
+        final Class<?> wrapperType = primitiveType == type ? wrapperType(type) : type;
+        if (parameters.getCustomRandomizerRegistry().getRandomizer(primitiveType) != null
+                || parameters.getCustomRandomizerRegistry().getRandomizer(wrapperType) != null) {
+            return false;
+        }
+        for (RandomizerRegistry registry : parameters.getUserRegistries()) {
+            try {
+                if (registry.getRandomizer(primitiveType) != null || registry.getRandomizer(wrapperType) != null) {
+                    return false;
+                }
+            } catch (Exception e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * fill an array of primitive or wrapper type
+     *
+     * @param componentType component type
+     * @param size          size
+     * @param seed          seed
+     * @return array
+     */
+    static Object array(Class<?> componentType, int size, long seed) {
+        if (componentType == int.class) {
+            final int[] array = new int[size];
+            fill(size, i -> array[i] = intAt(seed, i));
+            return array;
+        } else if (componentType == long.class) {
+            final long[] array = new long[size];
+            fill(size, i -> array[i] = longAt(seed, i));
+            return array;
+        } else if (componentType == double.class) {
+            final double[] array = new double[size];
+            fill(size, i -> array[i] = doubleAt(seed, i));
+            return array;
+        } else if (componentType == float.class) {
+            final float[] array = new float[size];
+            fill(size, i -> array[i] = floatAt(seed, i));
+            return array;
+        } else if (componentType == short.class) {
+            final short[] array = new short[size];
+            fill(size, i -> array[i] = (short) intAt(seed, i));
+            return array;
+        } else if (componentType == byte.class) {
+            final byte[] array = new byte[size];
+            fill(size, i -> array[i] = (byte) intAt(seed, i));
+            return array;
+        } else if (componentType == boolean.class) {
+            final boolean[] array = new boolean[size];
+            fill(size, i -> array[i] = longAt(seed, i) < 0);
+            return array;
+        }
+        final Object[] array = (Object[]) Array.newInstance(componentType, size);
+        final IntFunction<Object> elements = boxed(primitiveType(componentType), seed);
+        fill(size, i -> array[i] = elements.apply(i));
+        return array;
+    }
+
+    /**
+     * generate a list of wrapper type
+     *
+     * @param elementType element type
+     * @param size        size
+     * @param seed        seed
+     * @param compact     unmodifiable list backed by a primitive array for int, long and double elements
+     * @return list
+     */
+    static List<?> list(Class<?> elementType, int size, long seed, boolean compact) {
+        final Class<?> primitiveType = primitiveType(elementType);
+        if (compact) {
+            if (primitiveType == int.class) {
+                return new IntArrayList((int[]) array(int.class, size, seed));
+            } else if (primitiveType == long.class) {
+                return new LongArrayList((long[]) array(long.class, size, seed));
+            } else if (primitiveType == double.class) {
+                return new DoubleArrayList((double[]) array(double.class, size, seed));
+            }
+        }
+        return new ArrayList<>(Arrays.asList((Object[]) array(wrapperType(primitiveType), size, seed)));
+    }
+
+    /**
+     * generate a set of wrapper type, duplicated values are dropped
+     *
+     * @param elementType element type
+     * @param size        size
+     * @param seed        seed
+     * @return set
+     */
+    static Set<?> set(Class<?> elementType, int size, long seed) {
+        final Object[] elements = (Object[]) array(wrapperType(primitiveType(elementType)), size, seed);
+        final Set<Object> set = new HashSet<>((int) Math.min(Integer.MAX_VALUE, size * 4L / 3 + 1));
+        Collections.addAll(set, elements);
+        return set;
+    }
+
+    /**
+     * is the type a primitive stream: {@link IntStream}, {@link LongStream} or {@link DoubleStream}
+     *
+     * @param type type
+     * @return primitive stream or not
+     */
+    static boolean isPrimitiveStream(Class<?> type) {
+        return type == IntStream.class || type == LongStream.class || type == DoubleStream.class;
+    }
+
+    /**
+     * generate a lazy primitive stream, elements are generated on demand
+     *
+     * @param streamType {@link IntStream}, {@link LongStream} or {@link DoubleStream}
+     * @param seed       seed
+     * @param fence      stream size, {@link Long#MAX_VALUE} for an unbounded stream
+     * @return primitive stream
+     */
+    static BaseStream<?, ?> stream(Class<?> streamType, long seed, long fence) {
+        final LongStream indexes = LongStream.range(0, fence);
+        if (streamType == IntStream.class) {
+            return indexes.mapToInt(i -> intAt(seed, i));
+        } else if (streamType == DoubleStream.class) {
+            return indexes.mapToDouble(i -> doubleAt(seed, i));
+        }
+        return indexes.map(i -> longAt(seed, i));
+    }
+
+    /**
+     * fill the elements of an array, in chunks on the fork-join pool for large sizes: allocations of the chunks
+     * generated by worker threads, such as boxed values, are added to the {@link GenerationWindow} of the test
+     */
+    private static void fill(int size, IntConsumer element) {
+        if (size < PARALLEL_THRESHOLD) {
+            for (int i = 0; i < size; i++) {
+                element.accept(i);
+            }
+            return;
+        }
+        final GenerationWindow window = GenerationWindow.current();
+        final int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> GenerationWindow.chunk(window, () -> {
+            final int end = Math.min(size, (chunk + 1) * CHUNK_SIZE);
+            for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                element.accept(i);
+            }
+        }));
+    }
+
+    private static IntFunction<Object> boxed(Class<?> primitiveType, long seed) {
+        if (primitiveType == int.class) {
+            return i -> intAt(seed, i);
+        } else if (primitiveType == long.class) {
+            return i -> longAt(seed, i);
+        } else if (primitiveType == double.class) {
+            return i -> doubleAt(seed, i);
+        } else if (primitiveType == float.class) {
+            return i -> floatAt(seed, i);
+        } else if (primitiveType == short.class) {
+            return i -> (short) intAt(seed, i);
+        } else if (primitiveType == byte.class) {
+            return i -> (byte) intAt(seed, i);
+        }
+        return i -> longAt(seed, i) < 0;
+    }
+
+    private static Class<?> primitiveType(Class<?> type) {
+        return type.isPrimitive() ? (type == char.class || type == void.class ? null : type) : PRIMITIVE_TYPES.get(type);
+    }
+
+    private static Class<?> wrapperType(Class<?> primitiveType) {
+        for (Map.Entry<Class<?>, Class<?>> entry : PRIMITIVE_TYPES.entrySet()) {
+            if (entry.getValue() == primitiveType) {
+                return entry.getKey();
+            }
+        }
+        return primitiveType;
+    }
+
+    private static long longAt(long seed, long index) {
+        return SeededRandom.seed(seed, index);
+    }
+
+    private static int intAt(long seed, long index) {
+        return (int) (longAt(seed, index) >>> 32);
+    }
+
+    private static double doubleAt(long seed, long index) {
+        return (longAt(seed, index) >>> 11) * 0x1.0p-53;
+    }
+
+    private static float floatAt(long seed, long index) {
+        return (longAt(seed, index) >>> 40) * 0x1.0p-24f;
+    }
+
+    /**
+     * unmodifiable list view of an int array
+     */
+    private static final class IntArrayList extends AbstractList<Integer> implements RandomAccess {
+        private final int[] values;
+
+        IntArrayList(int[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Integer get(int index) {
+            return values[index];
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+
+    /**
+     * unmodifiable list view of a long array
+     */
+    private static final class LongArrayList extends AbstractList<Long> implements RandomAccess {
+        private final long[] values;
+
+        LongArrayList(long[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Long get(int index) {
+            return values[index];
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+
+    /**
+     * unmodifiable list view of a double array
+     */
+    private static final class DoubleArrayList extends AbstractList<Double> implements RandomAccess {
+        private final double[] values;
+
+        DoubleArrayList(double[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Double get(int index) {
+            return values[index];
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+}
@@ -21,6 +21,22 @@ import java.lang.annotation.*;
  *
  *  // create a Stream containing two randomly generated instances of MyDomainObject
  *  &#064;Random(size = 2) Stream&lt;MyDomainObject&gt; anyStrings;
+ *
+ *  // create an unbounded Stream of randomly generated instances of MyDomainObject, generated on demand
+ *  &#064;Random(unbounded = true) Stream&lt;MyDomainObject&gt; anyDomainObjects;
+ *
+ *  // create an int array, and an unmodifiable list backed by a long array, generated in bulk
+ *  &#064;Random(size = 5_000_000) int[] anyInts;
+ *  &#064;Random(size = 5_000_000, compact = true) List&lt;Long&gt; anyLongs;
+ *
+ *  // create a List of MyDomainObject valid against all their constraints, custom validators included
+ *  &#064;Random(validated = true) List&lt;MyDomainObject&gt; validDomainObjects;
+ *
+ *  // create a List of MyDomainObject once, and load it from target/easy-random-corpus on later runs
+ *  &#064;Random(size = 100_000, cached = true) List&lt;MyDomainObject&gt; cachedDomainObjects;
+ *
+ *  // create an aggregate root with at most 3 levels, 1000 objects and nested collections of 5 elements
+ *  &#064;Random(maxDepth = 3, maxObjects = 1000, maxCollectionSize = 5) Order order;
  * </pre>
  *
  * @author Random Beans
@@ -31,7 +47,12 @@ import java.lang.annotation.*;
 @Documented
 public @interface Random {
     /**
-     * When generating a collection of random type you may want to limit its size.
+     * When generating a collection, an array or a stream of random type you may want to limit its size.
+     * Large collections and arrays are generated in parallel, with a result that only depends on the seed.
+     * <p>
+     * Arrays get exactly {@code size} elements, 10 by default: before 0.5.0 an array parameter or field got a length
+     * drawn from the {@code collectionSizeRange} of the easy random parameters, annotate it with {@code @Size(min, max)}
+     * for a length drawn from a range.
      *
      * @return the desired size of any collections within the randomly generated type
      */
@@ -45,5 +66,70 @@ public @interface Random {
      */
     Class<?> type() default Object.class;
 
+    /**
+     * When generating a Stream, elements are generated lazily on demand, an unbounded stream never ends and
+     * {@link #size()} is ignored. Use it with short-circuiting operations such as {@code limit()}.
+     *
+     * @return unbounded stream or not
+     */
+    boolean unbounded() default false;
+
+    /**
+     * When generating a List of Integer, Long or Double, return an unmodifiable list backed by a primitive array
+     * instead of an ArrayList of boxed values.
+     *
+     * @return compact list or not
+     */
+    boolean compact() default false;
+
+    /**
+     * Check generated beans, and the elements of generated collections, arrays and streams, with Hibernate Validator,
+     * for constraints that can not be generated directly such as custom constraint validators. Only the offending
+     * properties are regenerated, see {@link ValidationStats} for rejection rates.
+     *
+     * @return validated generation or not
+     */
+    boolean validated() default false;
+
+    /**
+     * When generating with {@link #validated()}, max rounds of regeneration, invalid values are kept afterwards
+     *
+     * @return max regeneration rounds
+     */
+    int retries() default 10;
+
+    /**
+     * Save the generated value to the on-disk fixture corpus and load it on later runs, as long as the structure of
+     * the generated types and the annotations are unchanged. For large or deep fixtures, streams are not cached.
+     *
+     * @return cached or not
+     */
+    boolean cached() default false;
+
+    /**
+     * Max depth of the generated object graph, the root object is at depth 1 and the elements of a collection are at
+     * the depth of the collection. Deeper objects, collections, maps and arrays are left null, see {@link GraphGovernor}.
+     *
+     * @return max depth, -1 for the engine's randomization depth
+     */
+    int maxDepth() default -1;
+
+    /**
+     * Max objects (beans and records) in the generated graph, elements of collections, arrays and streams included.
+     * Once created, further objects, collections, maps and arrays are left null, collections of size constraints are
+     * empty, and collections, arrays and streams of the target end early.
+     *
+     * @return max objects, -1 for no limit
+     */
+    long maxObjects() default -1;
+
+    /**
+     * Max size of the collections, maps and arrays nested in the generated graph, size constraints included. The size of
+     * the target itself is {@link #size()}.
+     *
+     * @return max nested collection size, -1 for the engine's collection size range
+     */
+    int maxCollectionSize() default -1;
+
     String locale() default "en_US";
 }
\ No newline at end of file
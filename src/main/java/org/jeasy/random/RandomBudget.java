@@ -0,0 +1,61 @@
+package org.jeasy.random;
+
+import java.lang.annotation.*;
+
+/**
+ * Generation budget of a test class or a test method: wall time and bytes allocated by the generating thread and
+ * the parallel bulk generation workers for the random values of a test: the fields of its test instance, when the
+ * budget is declared on the class or configured, and its parameters are charged to a single budget. Engines,
+ * randomizers and fakers built on first use are not counted, and neither are the elements of {@code Stream}
+ * parameters, generated lazily while the test consumes them.
+ *
+ * <p>The budget is taken from, in order: this annotation on the test method, this annotation on the test class,
+ * the {@code easy-random.budget.max-millis}, {@code easy-random.budget.max-bytes} and
+ * {@code easy-random.budget.action} configuration parameters or system properties. Example:
+ *
+ * <pre>
+ *  &#064;Test
+ *  &#064;RandomBudget(maxMillis = 50, maxBytes = 10_000_000)
+ *  public void testUsers(&#064;Random(size = 100) List&lt;User&gt; users) {
+ *  }
+ * </pre>
+ *
+ * @author linux_china
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Inherited
+@Documented
+public @interface RandomBudget {
+    /**
+     * max generation wall time in milliseconds
+     *
+     * @return max millis, -1 for no limit
+     */
+    long maxMillis() default -1;
+
+    /**
+     * max bytes allocated by generation
+     *
+     * @return max bytes, -1 for no limit
+     */
+    long maxBytes() default -1;
+
+    /**
+     * action when the budget is exceeded
+     *
+     * @return action
+     */
+    Action action() default Action.FAIL;
+
+    enum Action {
+        /**
+         * fail the test with {@link RandomBudgetExceededException}
+         */
+        FAIL,
+        /**
+         * publish a report entry and log a warning, the test goes on
+         */
+        WARN
+    }
+}
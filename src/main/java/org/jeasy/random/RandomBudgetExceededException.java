@@ -0,0 +1,14 @@
+package org.jeasy.random;
+
+/**
+ * Thrown when the random generation of a test exceeds its {@link RandomBudget}
+ *
+ * @author linux_china
+ */
+public class RandomBudgetExceededException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public RandomBudgetExceededException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,105 @@
+package org.jeasy.random;
+
+import java.util.Spliterator;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator generating random objects on demand, for the index range [index, fence).
+ * The range is cut in chunks of {@link BulkObjectGenerator#CHUNK_SIZE} elements, each chunk is generated from its own
+ * source seeded from the stream seed and the chunk index, installed around each element on the engine of the consuming
+ * thread, and splits happen on chunk boundaries: a parallel stream splits into independent generators and yields the
+ * same elements as a sequential one, even when its consumption is interleaved with other generations.
+ *
+ * @param <T> element type
+ * @author linux_china
+ */
+class RandomObjectSpliterator<T> implements Spliterator<T> {
+    private static final int CHUNK_SIZE = BulkObjectGenerator.CHUNK_SIZE;
+    private final Class<T> type;
+    private final EasyRandomResources resources;
+    private final long seed;
+    private long index;
+    private final long fence;
+    /**
+     * graph governor of the stream, shared by splits, null if none
+     */
+    private final GraphGovernor governor;
+    /**
+     * source of the current chunk, installed while an element is generated
+     */
+    private SplittableRandom source;
+    private long chunk = -1;
+
+    RandomObjectSpliterator(Class<T> type, EasyRandomResources resources, long seed, long index, long fence) {
+        this(type, resources, seed, index, fence, GraphGovernor.current());
+    }
+
+    private RandomObjectSpliterator(Class<T> type, EasyRandomResources resources, long seed, long index, long fence, GraphGovernor governor) {
+        this.type = type;
+        this.resources = resources;
+        this.seed = seed;
+        this.index = index;
+        this.fence = fence;
+        this.governor = governor;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (index < fence) {
+            action.accept(nextObject(index));
+            index++;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        long i = index;
+        index = fence;
+        for (; i < fence; i++) {
+            action.accept(nextObject(i));
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        long i = index;
+        long m = ((i + fence) >>> 1) / CHUNK_SIZE * CHUNK_SIZE;
+        if (m <= i) {
+            return null;
+        }
+        return new RandomObjectSpliterator<>(type, resources, seed, i, index = m, governor);
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence == Long.MAX_VALUE ? Long.MAX_VALUE : fence - index;
+    }
+
+    /**
+     * sized only for a finite range: an unbounded stream has no exact size, the prefixes split from it are sized
+     */
+    @Override
+    public int characteristics() {
+        return fence == Long.MAX_VALUE ? Spliterator.IMMUTABLE : Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE;
+    }
+
+    private T nextObject(long elementIndex) {
+        final SplittableRandom chunkSource = source(elementIndex);
+        if (governor == null) {
+            return RandomSource.with(chunkSource, () -> resources.getEasyRandom().nextObject(type));
+        }
+        return governor.govern(() -> RandomSource.with(chunkSource, () -> resources.getEasyRandom(governor.getLimits()).nextObject(type)));
+    }
+
+    private SplittableRandom source(long elementIndex) {
+        final long elementChunk = elementIndex / CHUNK_SIZE;
+        if (elementChunk != chunk) {
+            chunk = elementChunk;
+            source = new SplittableRandom(SeededRandom.seed(seed, elementChunk));
+        }
+        return source;
+    }
+}
@@ -0,0 +1,35 @@
+package org.jeasy.random;
+
+import java.lang.annotation.*;
+
+/**
+ * Root seed for the random generation of a test class or a test method.
+ *
+ * <p>Each test gets its own seed derived from the root seed and the test's unique ID, so the same root seed
+ * always replays the same data for a test, whatever the execution order, the parallelism or the fork. The root seed
+ * is taken from, in order: this annotation on the test method, this annotation on the test class, the
+ * {@code easy-random.seed} configuration parameter or system property, and a random seed chosen once per JVM.
+ *
+ * <p>When a test fails, its root seed is reported as a suppressed exception, replay example:
+ *
+ * <pre>
+ *  &#064;Test
+ *  &#064;RandomSeed(-2916271855317235339L)
+ *  public void testUser(&#064;Random User user) {
+ *  }
+ * </pre>
+ *
+ * @author linux_china
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Inherited
+@Documented
+public @interface RandomSeed {
+    /**
+     * root seed
+     *
+     * @return root seed
+     */
+    long value();
+}
@@ -0,0 +1,14 @@
+package org.jeasy.random;
+
+/**
+ * Seed report attached to a failed test as a suppressed exception, without stack trace
+ *
+ * @author linux_china
+ */
+public class RandomSeedReport extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public RandomSeedReport(String message) {
+        super(message, null, false, false);
+    }
+}
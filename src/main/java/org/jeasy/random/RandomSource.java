@@ -0,0 +1,308 @@
+package org.jeasy.random;
+
+import org.jeasy.random.annotation.Priority;
+import org.jeasy.random.api.Randomizer;
+import org.jeasy.random.api.RandomizerContext;
+import org.jeasy.random.api.RandomizerProvider;
+import org.jeasy.random.api.RandomizerRegistry;
+import org.jeasy.random.randomizers.registry.ExclusionRandomizerRegistry;
+import org.jeasy.random.util.CharacterUtils;
+
+import java.lang.reflect.Field;
+import java.nio.charset.Charset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Source of randomness of the generating thread. Engines, randomizers and validation handlers built once draw from the
+ * {@link SplittableRandom} installed by the current generation instead of a random of their own, so a shared engine
+ * generates reproducible values for the seed of each generation, whatever ran before on the thread.
+ * <p>
+ * Randomness is wired explicitly: engines are {@link EasyRandom} subclasses drawing from the source, with the
+ * randomizers of {@link SourcedRandomizerRegistry} ahead of the seeded easy random ones, and Faker and Generex are
+ * built with {@link #random()}.
+ *
+ * @author linux_china
+ */
+public final class RandomSource {
+    private static final ThreadLocal<SplittableRandom> CURRENT = ThreadLocal.withInitial(SplittableRandom::new);
+    private static final java.util.Random RANDOM = new SourceRandom();
+    private static final ClassValue<Object[]> ENUM_CONSTANTS = new ClassValue<>() {
+        @Override
+        protected Object[] computeValue(Class<?> type) {
+            return type.getEnumConstants();
+        }
+    };
+    /**
+     * letters of charsets, as used by easy random character and string randomizers
+     */
+    private static final Map<Charset, char[]> LETTERS = new ConcurrentHashMap<>();
+
+    private RandomSource() {
+    }
+
+    /**
+     * random drawing from the source of the current thread, to be shared by randomizers built once
+     *
+     * @return random
+     */
+    public static java.util.Random random() {
+        return RANDOM;
+    }
+
+    /**
+     * source of the current thread: the source of the current generation, an unseeded source outside of generations
+     *
+     * @return source
+     */
+    public static SplittableRandom current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * generate a value with the source installed on the current thread
+     *
+     * @param source    source
+     * @param generator generator
+     * @param <T>       value type
+     * @return value
+     */
+    static <T> T with(SplittableRandom source, Supplier<T> generator) {
+        final SplittableRandom previous = install(source);
+        try {
+            return generator.get();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * install a source on the current thread, the previous source must be installed back
+     *
+     * @param source source
+     * @return previous source
+     */
+    static SplittableRandom install(SplittableRandom source) {
+        final SplittableRandom previous = CURRENT.get();
+        CURRENT.set(source);
+        return previous;
+    }
+
+    /**
+     * build engines or randomizers with a source of their own: seeds drawn by constructors and handlers do not
+     * consume the source of the current generation, so building them lazily does not change the generated values.
+     * Building is setup, not measured by the generation in progress, see {@link GenerationWindow}.
+     *
+     * @param builder builder
+     * @param <T>     built type
+     * @return built value
+     */
+    public static <T> T detached(Supplier<T> builder) {
+        return GenerationWindow.setup(() -> with(new SplittableRandom(0), builder));
+    }
+
+    /**
+     * create an engine drawing from the source of the generating thread: the engine gets a copy of the parameters
+     * whose randomizer provider serves {@link SourcedRandomizerRegistry} and sourced enum randomizers ahead of the
+     * registries of the parameters
+     *
+     * @param parameters parameters, the seed is ignored
+     * @return easy random engine
+     */
+    public static EasyRandom newEasyRandom(EasyRandomParameters parameters) {
+        return detached(() -> {
+            final EasyRandomParameters sourced = parameters.copy();
+            sourced.randomizerProvider(new SourcedRandomizerProvider(sourced, parameters.getRandomizerProvider()));
+            return new SourcedEasyRandom(sourced);
+        });
+    }
+
+    /**
+     * randomizer of strings of letters of a charset, with a length in range, drawing from the source of the
+     * generating thread
+     *
+     * @param charset   charset
+     * @param minLength min length
+     * @param maxLength max length
+     * @return randomizer
+     */
+    public static Randomizer<String> strings(Charset charset, int minLength, int maxLength) {
+        final char[] letters = letters(charset);
+        return () -> new String(draw(letters, minLength + CURRENT.get().nextInt(maxLength - minLength + 1)));
+    }
+
+    /**
+     * random letters of a charset drawn from the source of the generating thread
+     *
+     * @param charset charset
+     * @param length  count of letters
+     * @return letters
+     */
+    public static char[] letters(Charset charset, int length) {
+        return draw(letters(charset), length);
+    }
+
+    private static char[] draw(char[] letters, int length) {
+        final SplittableRandom source = CURRENT.get();
+        final char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = letters[source.nextInt(letters.length)];
+        }
+        return chars;
+    }
+
+    /**
+     * letters of a charset, collected once per charset as setup, not measured, see {@link #detached(Supplier)}
+     */
+    private static char[] letters(Charset charset) {
+        final char[] letters = LETTERS.get(charset);
+        return letters != null ? letters : detached(() -> LETTERS.computeIfAbsent(charset, RandomSource::collectLetters));
+    }
+
+    private static char[] collectLetters(Charset charset) {
+        final List<Character> letters = CharacterUtils.filterLetters(CharacterUtils.collectPrintableCharactersOf(charset));
+        final char[] chars = new char[letters.size()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = letters.get(i);
+        }
+        return chars;
+    }
+
+    /**
+     * random drawing from the source of the current thread, its own seed is never used
+     */
+    private static final class SourceRandom extends java.util.Random {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void setSeed(long seed) {
+        }
+
+        @Override
+        protected int next(int bits) {
+            return (int) (CURRENT.get().nextLong() >>> (64 - bits));
+        }
+
+        @Override
+        public int nextInt() {
+            return CURRENT.get().nextInt();
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            return CURRENT.get().nextInt(bound);
+        }
+
+        @Override
+        public long nextLong() {
+            return CURRENT.get().nextLong();
+        }
+
+        @Override
+        public double nextDouble() {
+            return CURRENT.get().nextDouble();
+        }
+
+        @Override
+        public boolean nextBoolean() {
+            return CURRENT.get().nextBoolean();
+        }
+
+        @Override
+        public double nextGaussian() {
+            return CURRENT.get().nextGaussian();
+        }
+    }
+
+    /**
+     * randomizer provider of a sourced engine: the registries of the engine, with the sourced registries first.
+     * Copies of parameters share their exclusion registry, which grows on every init: each engine gets its own.
+     */
+    private static final class SourcedRandomizerProvider implements RandomizerProvider {
+        private final EasyRandomParameters parameters;
+        private final RandomizerProvider delegate;
+
+        SourcedRandomizerProvider(EasyRandomParameters parameters, RandomizerProvider delegate) {
+            this.parameters = parameters;
+            this.delegate = delegate != null ? delegate : new RegistriesRandomizerProvider();
+        }
+
+        @Override
+        public void setRandomizerRegistries(Set<RandomizerRegistry> registries) {
+            final SourcedRandomizerRegistry sourcedRegistry = new SourcedRandomizerRegistry();
+            sourcedRegistry.init(parameters);
+            final Set<RandomizerRegistry> sourcedRegistries = new LinkedHashSet<>();
+            sourcedRegistries.add(sourcedRegistry);
+            sourcedRegistries.add(EnumRandomizerRegistry.INSTANCE);
+            for (RandomizerRegistry registry : registries) {
+                if (registry == parameters.getExclusionRandomizerRegistry()) {
+                    final ExclusionRandomizerRegistry exclusionRegistry = new ExclusionRandomizerRegistry();
+                    exclusionRegistry.init(parameters);
+                    sourcedRegistries.add(exclusionRegistry);
+                } else {
+                    sourcedRegistries.add(registry);
+                }
+            }
+            delegate.setRandomizerRegistries(sourcedRegistries);
+        }
+
+        @Override
+        public Randomizer<?> getRandomizerByField(Field field, RandomizerContext context) {
+            return delegate.getRandomizerByField(field, context);
+        }
+
+        @Override
+        public <T> Randomizer<T> getRandomizerByType(Class<T> type, RandomizerContext context) {
+            return delegate.getRandomizerByType(type, context);
+        }
+    }
+
+    /**
+     * engine drawing from the source of the current thread
+     */
+    private static final class SourcedEasyRandom extends EasyRandom {
+        private static final long serialVersionUID = 1L;
+
+        SourcedEasyRandom(EasyRandomParameters parameters) {
+            super(parameters);
+        }
+
+        @Override
+        protected int next(int bits) {
+            return (int) (CURRENT.get().nextLong() >>> (64 - bits));
+        }
+
+        @Override
+        public double nextGaussian() {
+            return CURRENT.get().nextGaussian();
+        }
+    }
+
+    /**
+     * enum randomizers drawing from the source, instead of the enum randomizers seeded with the engine seed and
+     * created by the engine on first use
+     */
+    @Priority(-255)
+    private static final class EnumRandomizerRegistry implements RandomizerRegistry {
+        static final EnumRandomizerRegistry INSTANCE = new EnumRandomizerRegistry();
+
+        @Override
+        public void init(EasyRandomParameters parameters) {
+        }
+
+        @Override
+        public Randomizer<?> getRandomizer(Field field) {
+            return null;
+        }
+
+        @Override
+        public Randomizer<?> getRandomizer(Class<?> type) {
+            if (!type.isEnum()) {
+                return null;
+            }
+            final Object[] constants = ENUM_CONSTANTS.get(type);
+            return constants.length == 0 ? null : () -> constants[CURRENT.get().nextInt(constants.length)];
+        }
+    }
+}
@@ -4,9 +4,14 @@ import org.jeasy.random.api.Randomizer;
 import org.jeasy.random.api.RandomizerContext;
 import org.jeasy.random.validation.BeanValidationRandomizerHandlers;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.RecordComponent;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 /**
  * Java Records Factory for easy-random, please refer https://github.com/j-easy/easy-random/issues/397
@@ -15,76 +20,232 @@ import java.lang.reflect.RecordComponent;
  * @author linux_china
  */
 public class RecordFactory extends ObjenesisObjectFactory {
+    /**
+     * record metadata, resolved once per record class
+     */
+    private static final ClassValue<RecordMetadata> RECORD_METADATA = new ClassValue<>() {
+        @Override
+        protected RecordMetadata computeValue(Class<?> recordType) {
+            return RecordMetadata.of(recordType);
+        }
+    };
 
-    private EasyRandom easyRandom;
-    private BeanValidationRandomizerHandlers beanValidationHandlers;
+    /**
+     * engine built from the parameters holding this factory, records are generated in its randomization pass
+     */
+    private volatile EasyRandom owner;
+    private volatile EasyRandomParameters ownerParameters;
+    /**
+     * engines of the resources, for components generated outside the randomization pass of the owner
+     */
+    private volatile Supplier<EasyRandom> engines;
+    /**
+     * bean validation handlers of the resources, or created on first use by a factory used without resources
+     */
+    private volatile BeanValidationRandomizerHandlers beanValidationHandlers;
+    /**
+     * engine for a factory used without resources, created on first use
+     */
+    private volatile EasyRandom easyRandom;
 
+    /**
+     * bind the factory to the resources of the extension, the first binding wins
+     *
+     * @param parameters             parameters holding this factory
+     * @param easyRandom             engine built from the parameters, null if the parameters have no engine
+     * @param engines                engines of the resources for the current thread
+     * @param beanValidationHandlers bean validation handlers of the resources
+     */
+    synchronized void bind(EasyRandomParameters parameters, EasyRandom easyRandom, Supplier<EasyRandom> engines,
+                           BeanValidationRandomizerHandlers beanValidationHandlers) {
+        if (this.engines == null) {
+            this.beanValidationHandlers = beanValidationHandlers;
+            this.engines = engines;
+        }
+        if (owner == null && easyRandom != null) {
+            this.ownerParameters = parameters;
+            this.owner = easyRandom;
+        }
+    }
 
     @Override
     public <T> T createInstance(Class<T> type, RandomizerContext context) {
-        if (easyRandom == null) {
-            easyRandom = new EasyRandom(context.getParameters());
-            beanValidationHandlers = new BeanValidationRandomizerHandlers();
-            beanValidationHandlers.init(context.getParameters());
+        if (beanValidationHandlers == null) {
+            synchronized (this) {
+                if (beanValidationHandlers == null) {
+                    final BeanValidationRandomizerHandlers handlers = new BeanValidationRandomizerHandlers();
+                    handlers.init(context.getParameters());
+                    beanValidationHandlers = handlers;
+                }
+            }
         }
         if (type.isRecord()) {
-            return createRandomRecord(type);
+            return createRandomRecord(type, context);
         } else {
             return super.createInstance(type, context);
         }
     }
 
-    private <T> T createRandomRecord(Class<T> recordType) {
-        // generate random values for record components
-        RecordComponent[] recordComponents = recordType.getRecordComponents();
-        Object[] randomValues = new Object[recordComponents.length];
-        for (int i = 0; i < recordComponents.length; i++) {
-            final RecordComponent recordComponent = recordComponents[i];
-            Object componentValue = null;
-            try {
-                // check bean validation annotation
-                final Field declaredField = recordType.getDeclaredField(recordComponent.getName());
-                if (declaredField.getAnnotations().length > 0) {
-                    final Randomizer<?> randomizer = beanValidationHandlers.getRandomizer(declaredField);
-                    if (randomizer != null) {
-                        componentValue = randomizer.getRandomValue();
+    private <T> T createRandomRecord(Class<T> recordType, RandomizerContext context) {
+        final GenerationEvent event = new GenerationEvent();
+        final long allocated = event.beginRecord();
+        final T record = newRandomRecord(recordType, context);
+        if (allocated >= 0) {
+            event.commitRecord(recordType, allocated);
+        }
+        return record;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T newRandomRecord(Class<T> recordType, RandomizerContext context) {
+        final RecordMetadata metadata = getRecordMetadata(recordType);
+        final Randomizer<?>[] randomizers = metadata.randomizers(beanValidationHandlers);
+        // generate random values for record components, in the same pass as the record if the engine is the owner
+        final EasyRandom engine = owner;
+        final boolean samePass = engine != null && context.getParameters() == ownerParameters && context instanceof RandomizationContext;
+        final Class<?>[] componentTypes = metadata.componentTypes();
+        Object[] randomValues = new Object[componentTypes.length];
+        // components are one level deeper than the record for the graph governor, if any
+        final boolean governed = GraphGovernor.enterRecord();
+        try {
+            for (int i = 0; i < componentTypes.length; i++) {
+                Object componentValue = null;
+                if (randomizers[i] != null) {
+                    if (governed) {
+                        GraphGovernor.recordComponent(context);
                     }
+                    componentValue = randomizers[i].getRandomValue();
                 }
-            } catch (Exception ignore) {
-
+                if (componentValue == null) {
+                    componentValue = samePass
+                            ? engine.doPopulateBean(componentTypes[i], (RandomizationContext) context)
+                            : getEasyRandom(context).nextObject(componentTypes[i]);
+                }
+                randomValues[i] = componentValue;
             }
-            if (componentValue == null) {
-                componentValue = easyRandom.nextObject(recordComponent.getType());
+        } finally {
+            if (governed) {
+                GraphGovernor.exitRecord();
             }
-            randomValues[i] = componentValue;
         }
         // create a random instance with random values
         try {
-            final Constructor<T> canonicalConstructor = getCanonicalConstructor(recordType);
-            // change accessibility to public for nested Records
-            canonicalConstructor.setAccessible(true);
-            return canonicalConstructor.newInstance(randomValues);
-        } catch (Exception e) {
+            final Object record = metadata.constructor().invokeExact(randomValues);
+            return (T) record;
+        } catch (Throwable e) {
             throw new ObjectCreationException("Unable to create a random instance of recordType " + recordType, e);
         }
     }
 
-    private <T> Constructor<T> getCanonicalConstructor(Class<T> recordType) {
-        RecordComponent[] recordComponents = recordType.getRecordComponents();
-        Class<?>[] componentTypes = new Class<?>[recordComponents.length];
-        for (int i = 0; i < recordComponents.length; i++) {
-            // recordComponents are ordered, see javadoc:
-            // "The components are returned in the same order that they are declared in the record header"
-            componentTypes[i] = recordComponents[i].getType();
+    /**
+     * engine generating the components of records outside the randomization pass of the owner, such as records
+     * generated by the engines of size handlers: the engine of the resources for the current thread, or an engine
+     * created on first use by a factory used without resources
+     */
+    private EasyRandom getEasyRandom(RandomizerContext context) {
+        final Supplier<EasyRandom> resourceEngines = engines;
+        if (resourceEngines != null) {
+            return resourceEngines.get();
         }
+        if (easyRandom == null) {
+            synchronized (this) {
+                if (easyRandom == null) {
+                    easyRandom = RandomSource.newEasyRandom(context.getParameters());
+                }
+            }
+        }
+        return easyRandom;
+    }
+
+    private static RecordMetadata getRecordMetadata(Class<?> recordType) {
         try {
-            return recordType.getDeclaredConstructor(componentTypes);
-        } catch (NoSuchMethodException e) {
-            // should not happen, from Record javadoc:
-            // "A record class has the following mandated members: a public canonical constructor ,
-            // whose descriptor is the same as the record descriptor;"
-            throw new RuntimeException("Invalid record definition", e);
+            return RECORD_METADATA.get(recordType);
+        } catch (ObjectCreationException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new ObjectCreationException("Unable to create a random instance of recordType " + recordType, e);
         }
     }
-}
 
+    /**
+     * record metadata
+     *
+     * @param componentTypes  component types, in declaration order
+     * @param annotatedFields component fields with annotations, null for components without annotation
+     * @param constructor     canonical constructor spread to {@code (Object[])Object}
+     * @param randomizers     bean validation randomizers of the components, resolved with the last handlers used
+     */
+    private record RecordMetadata(Class<?>[] componentTypes, Field[] annotatedFields, MethodHandle constructor,
+                                  AtomicReference<ComponentRandomizers> randomizers) {
+
+        /**
+         * bean validation randomizers of the components, null for components without constraint
+         *
+         * @param handlers bean validation handlers
+         * @return component randomizers
+         */
+        Randomizer<?>[] randomizers(BeanValidationRandomizerHandlers handlers) {
+            final ComponentRandomizers resolved = randomizers.get();
+            if (resolved != null && resolved.handlers() == handlers) {
+                return resolved.randomizers();
+            }
+            final Randomizer<?>[] componentRandomizers = new Randomizer<?>[annotatedFields.length];
+            for (int i = 0; i < annotatedFields.length; i++) {
+                if (annotatedFields[i] != null) {
+                    try {
+                        // check bean validation annotation
+                        componentRandomizers[i] = handlers.getRandomizer(annotatedFields[i]);
+                    } catch (Exception ignore) {
+
+                    }
+                }
+            }
+            randomizers.set(new ComponentRandomizers(handlers, componentRandomizers));
+            return componentRandomizers;
+        }
+
+        static RecordMetadata of(Class<?> recordType) {
+            // recordComponents are ordered, see javadoc:
+            // "The components are returned in the same order that they are declared in the record header"
+            final RecordComponent[] recordComponents = recordType.getRecordComponents();
+            final Class<?>[] componentTypes = new Class<?>[recordComponents.length];
+            final Field[] annotatedFields = new Field[recordComponents.length];
+            for (int i = 0; i < recordComponents.length; i++) {
+                componentTypes[i] = recordComponents[i].getType();
+                try {
+                    final Field declaredField = recordType.getDeclaredField(recordComponents[i].getName());
+                    if (declaredField.getAnnotations().length > 0) {
+                        annotatedFields[i] = declaredField;
+                    }
+                } catch (Exception ignore) {
+
+                }
+            }
+            try {
+                final Constructor<?> canonicalConstructor = recordType.getDeclaredConstructor(componentTypes);
+                // change accessibility to public for nested Records
+                canonicalConstructor.setAccessible(true);
+                final MethodHandle constructor = MethodHandles.lookup().unreflectConstructor(canonicalConstructor)
+                        .asSpreader(Object[].class, componentTypes.length)
+                        .asType(MethodType.methodType(Object.class, Object[].class));
+                return new RecordMetadata(componentTypes, annotatedFields, constructor, new AtomicReference<>());
+            } catch (NoSuchMethodException e) {
+                // should not happen, from Record javadoc:
+                // "A record class has the following mandated members: a public canonical constructor ,
+                // whose descriptor is the same as the record descriptor;"
+                throw new RuntimeException("Invalid record definition", e);
+            } catch (Exception e) {
+                throw new ObjectCreationException("Unable to access the canonical constructor of recordType " + recordType, e);
+            }
+        }
+    }
+
+    /**
+     * bean validation randomizers of record components resolved with handlers
+     *
+     * @param handlers    bean validation handlers
+     * @param randomizers randomizers, null for components without constraint
+     */
+    private record ComponentRandomizers(BeanValidationRandomizerHandlers handlers, Randomizer<?>[] randomizers) {
+    }
+}
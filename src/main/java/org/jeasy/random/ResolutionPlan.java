@@ -0,0 +1,56 @@
+package org.jeasy.random;
+
+/**
+ * Resolution plan compiled once for an annotated parameter or field: all reflection work (faker lookup,
+ * validation annotation scanning, type inference) is done at compile time and the plan only generates values.
+ *
+ * @author linux_china
+ */
+@FunctionalInterface
+interface ResolutionPlan {
+
+    /**
+     * generate a random value for the element
+     *
+     * @param random seeded random of the current extension context
+     * @return random value
+     */
+    Object generate(SeededRandom random);
+
+    /**
+     * name of the generator chosen for the element, reported by {@link GenerationEvent}
+     *
+     * @return handler name
+     */
+    default String handler() {
+        return "EasyRandom";
+    }
+
+    /**
+     * size of the generated collection, array or stream, reported by {@link GenerationEvent}
+     *
+     * @return size, 0 for single values
+     */
+    default long size() {
+        return 0;
+    }
+
+    /**
+     * describe a plan
+     *
+     * @param handler handler name
+     * @param size    size, 0 for single values
+     * @param plan    plan
+     * @return described plan
+     */
+    static ResolutionPlan of(String handler, long size, ResolutionPlan plan) {
+        return new DescribedPlan(handler, size, plan);
+    }
+
+    record DescribedPlan(String handler, long size, ResolutionPlan plan) implements ResolutionPlan {
+        @Override
+        public Object generate(SeededRandom random) {
+            return plan.generate(random);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package org.jeasy.random;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.platform.commons.support.AnnotationSupport.findAnnotation;
+
+/**
+ * Random generation state of an extension context: the seed derived from the root seed and the context's unique ID,
+ * and the source seeded with it, installed on the generating thread by {@link #generate(ResolutionPlan)} so that
+ * the shared engines and validation randomizers draw from it, see {@link RandomSource}.
+ *
+ * @author linux_china
+ */
+class SeededRandom {
+    /**
+     * configuration parameter or system property for the root seed
+     */
+    static final String ROOT_SEED_PROPERTY = "easy-random.seed";
+    /**
+     * root seed used when none is configured, chosen once per JVM
+     */
+    private static final long DEFAULT_ROOT_SEED = new SplittableRandom().nextLong();
+
+    private final EasyRandomResources resources;
+    private final long rootSeed;
+    private final boolean pinned;
+    private final long seed;
+    private final SplittableRandom source;
+    /**
+     * values not replayed by the seed alone, such as pooled instances or cached fixtures, shared with the forks
+     */
+    private final Set<String> replayNotes;
+    private long sequence;
+
+    private SeededRandom(EasyRandomResources resources, long rootSeed, boolean pinned, long seed, Set<String> replayNotes) {
+        this.resources = resources;
+        this.rootSeed = rootSeed;
+        this.pinned = pinned;
+        this.seed = seed;
+        this.source = new SplittableRandom(seed);
+        this.replayNotes = replayNotes;
+    }
+
+    /**
+     * create seeded random for the extension context
+     *
+     * @param resources        resources
+     * @param extensionContext extension context
+     * @return seeded random
+     */
+    static SeededRandom of(EasyRandomResources resources, ExtensionContext extensionContext) {
+        final Optional<Long> pinnedRootSeed = pinnedRootSeed(extensionContext);
+        final long rootSeed = pinnedRootSeed.orElse(DEFAULT_ROOT_SEED);
+        return new SeededRandom(resources, rootSeed, pinnedRootSeed.isPresent(), seed(rootSeed, extensionContext.getUniqueId()),
+                ConcurrentHashMap.newKeySet());
+    }
+
+    static long rootSeed(ExtensionContext extensionContext) {
+        return pinnedRootSeed(extensionContext).orElse(DEFAULT_ROOT_SEED);
+    }
+
+    /**
+     * root seed pinned by {@link RandomSeed} on the test method or class, or by configuration
+     *
+     * @param extensionContext extension context
+     * @return pinned root seed, empty if the root seed is chosen by the JVM
+     */
+    static Optional<Long> pinnedRootSeed(ExtensionContext extensionContext) {
+        return extensionContext.getTestMethod()
+                .flatMap((Method method) -> findAnnotation(method, RandomSeed.class))
+                .or(() -> extensionContext.getTestClass().flatMap(testClass -> findAnnotation(testClass, RandomSeed.class)))
+                .map(RandomSeed::value)
+                .or(() -> extensionContext.getConfigurationParameter(ROOT_SEED_PROPERTY).map(Long::parseLong));
+    }
+
+    /**
+     * derive a seed from the root seed and the unique ID: FNV-1a hash of the unique ID, mixed with the root seed
+     *
+     * @param rootSeed root seed
+     * @param uniqueId unique ID
+     * @return seed
+     */
+    static long seed(long rootSeed, String uniqueId) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < uniqueId.length(); i++) {
+            hash ^= uniqueId.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(rootSeed + hash);
+    }
+
+    /**
+     * derive the seed of a sub-sequence, such as a chunk of a large collection
+     *
+     * @param seed  seed
+     * @param index sub-sequence index
+     * @return seed
+     */
+    static long seed(long seed, long index) {
+        return mix(seed + (index + 1) * 0x9e3779b97f4a7c15L);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    public long getRootSeed() {
+        return rootSeed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * is the root seed pinned by {@link RandomSeed} or configuration, rather than chosen once per JVM
+     *
+     * @return pinned or not
+     */
+    public boolean isPinned() {
+        return pinned;
+    }
+
+    /**
+     * record an instance taken from a pre-generation pool, see {@link ObjectPools}
+     *
+     * @param type pooled type
+     */
+    void pooled(Class<?> type) {
+        replayNotes.add("instances of " + type.getName() + " were taken from a pre-generation pool and are not replayed by the seed");
+    }
+
+    /**
+     * record a fixture loaded from or saved to the fixture corpus, see {@link FixtureCorpus}
+     *
+     * @param element element name
+     * @param file    corpus file
+     * @param seed    seed the fixture was generated from
+     */
+    void cached(String element, Path file, long seed) {
+        replayNotes.add(element + " is the fixture of " + file + ", generated from seed " + seed + " and replayed while the file is kept");
+    }
+
+    /**
+     * values of this seeded random and its forks not replayed by the seed alone, for the failure report
+     *
+     * @return replay notes
+     */
+    public Set<String> getReplayNotes() {
+        return replayNotes;
+    }
+
+    public EasyRandomResources getResources() {
+        return resources;
+    }
+
+    /**
+     * generate a value of a plan with the source of this seeded random installed on the current thread
+     *
+     * @param plan resolution plan
+     * @return value
+     */
+    public synchronized Object generate(ResolutionPlan plan) {
+        return RandomSource.with(source, () -> plan.generate(this));
+    }
+
+    /**
+     * proceed with a test invocation with the source of this seeded random installed on the current thread, so that
+     * Faker providers draw reproducible values when the test calls them
+     *
+     * @param invocation invocation
+     * @param <T>        result type
+     * @return result
+     * @throws Throwable exception thrown by the invocation
+     */
+    public <T> T proceed(InvocationInterceptor.Invocation<T> invocation) throws Throwable {
+        final SplittableRandom previous = RandomSource.install(source);
+        try {
+            return invocation.proceed();
+        } finally {
+            RandomSource.install(previous);
+        }
+    }
+
+    /**
+     * get the easy random engine of the current thread, with the collection size range capped if the graph governor
+     * of the current thread has a max collection size
+     *
+     * @return easy random engine
+     */
+    public EasyRandom getEasyRandom() {
+        final GraphGovernor.Limits limits = GraphGovernor.collectionLimits();
+        return limits != null ? resources.getEasyRandom(limits) : resources.getEasyRandom();
+    }
+
+    /**
+     * next seed of a sequence derived from the seed, for generators that do not need the easy random engine
+     *
+     * @return seed
+     */
+    public synchronized long nextSeed() {
+        return seed(seed, sequence++);
+    }
+
+    /**
+     * create a seeded random with its own source for a seed derived from this one, such as {@link #nextSeed()}
+     *
+     * @param seed seed
+     * @return seeded random
+     */
+    public SeededRandom fork(long seed) {
+        return new SeededRandom(resources, rootSeed, pinned, seed, replayNotes);
+    }
+}
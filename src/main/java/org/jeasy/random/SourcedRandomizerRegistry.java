@@ -0,0 +1,135 @@
+package org.jeasy.random;
+
+import org.jeasy.random.annotation.Priority;
+import org.jeasy.random.api.Randomizer;
+import org.jeasy.random.api.RandomizerRegistry;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.*;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Randomizers of the types of the easy random internal and time registries, drawing from the source of the generating
+ * thread, see {@link RandomSource}. The randomizers of easy random keep a {@link java.util.Random} seeded once when
+ * the engine is created, so engines created by {@link RandomSource#newEasyRandom(EasyRandomParameters)} get this
+ * registry, ahead of the easy random ones, instead.
+ * <p>
+ * Values follow the charset, string length, date and time ranges of the parameters; dates and times are in UTC, so
+ * a seed replays the same values on every machine.
+ *
+ * @author linux_china
+ */
+@Priority(-2)
+final class SourcedRandomizerRegistry implements RandomizerRegistry {
+    private static final URI[] URIS = {
+            URI.create("https://www.example.com"),
+            URI.create("https://www.example.org/index.html"),
+            URI.create("https://www.example.net/search?q=easy-random"),
+            URI.create("http://localhost:8080/api"),
+            URI.create("ftp://ftp.example.com/pub")
+    };
+    private static final URL[] URLS = urls();
+    private static final String[] ZONE_IDS = ZoneId.getAvailableZoneIds().stream().sorted().toArray(String[]::new);
+    private static final Locale[] LOCALES = Locale.getAvailableLocales();
+    private static final int MAX_OFFSET_SECONDS = 18 * 3600;
+
+    private final Map<Class<?>, Randomizer<?>> randomizers = new HashMap<>();
+
+    @Override
+    public void init(EasyRandomParameters parameters) {
+        final Charset charset = parameters.getCharset();
+        final int minLength = parameters.getStringLengthRange().getMin();
+        final int maxLength = parameters.getStringLengthRange().getMax();
+        final LocalDate minDate = parameters.getDateRange().getMin();
+        final LocalDate maxDate = parameters.getDateRange().getMax();
+        final LocalTime minTime = parameters.getTimeRange().getMin();
+        final LocalTime maxTime = parameters.getTimeRange().getMax();
+        final long days = ChronoUnit.DAYS.between(minDate, maxDate) + 1;
+        final long minSecond = LocalDateTime.of(minDate, minTime).toEpochSecond(ZoneOffset.UTC);
+        final long maxSecond = LocalDateTime.of(maxDate, maxTime).toEpochSecond(ZoneOffset.UTC);
+        final Randomizer<Instant> instants = () -> Instant.ofEpochSecond(RandomSource.current().nextLong(minSecond, maxSecond + 1));
+        final Randomizer<LocalDate> dates = () -> minDate.plusDays(RandomSource.current().nextLong(days));
+        final Randomizer<LocalTime> times = () -> LocalTime.ofSecondOfDay(RandomSource.current().nextInt(minTime.toSecondOfDay(), maxTime.toSecondOfDay() + 1));
+        // text, numbers and misc types of the internal registry
+        register(RandomSource.strings(charset, minLength, maxLength), String.class);
+        register(() -> RandomSource.letters(charset, 1)[0], Character.class, char.class);
+        register(() -> RandomSource.current().nextBoolean(), Boolean.class, boolean.class);
+        register(() -> (byte) RandomSource.current().nextInt(), Byte.class, byte.class);
+        register(() -> (short) RandomSource.current().nextInt(), Short.class, short.class);
+        register(() -> RandomSource.current().nextInt(), Integer.class, int.class);
+        register(() -> RandomSource.current().nextLong(), Long.class, long.class);
+        register(() -> RandomSource.current().nextDouble(), Double.class, double.class);
+        register(() -> (RandomSource.current().nextInt() >>> 8) * 0x1.0p-24f, Float.class, float.class);
+        register(() -> new BigInteger(128, RandomSource.random()), BigInteger.class);
+        register(() -> new BigDecimal(RandomSource.current().nextDouble()), BigDecimal.class);
+        register(() -> new AtomicInteger(RandomSource.current().nextInt()), AtomicInteger.class);
+        register(() -> new AtomicLong(RandomSource.current().nextLong()), AtomicLong.class);
+        register(() -> new Date(instants.getRandomValue().toEpochMilli()), Date.class);
+        register(() -> new java.sql.Date(instants.getRandomValue().toEpochMilli()), java.sql.Date.class);
+        register(() -> new Time(instants.getRandomValue().toEpochMilli()), Time.class);
+        register(() -> Timestamp.from(instants.getRandomValue()), Timestamp.class);
+        register(() -> GregorianCalendar.from(ZonedDateTime.ofInstant(instants.getRandomValue(), ZoneOffset.UTC)), Calendar.class, GregorianCalendar.class);
+        register(() -> URLS[RandomSource.current().nextInt(URLS.length)], URL.class);
+        register(() -> URIS[RandomSource.current().nextInt(URIS.length)], URI.class);
+        register(() -> LOCALES[RandomSource.current().nextInt(LOCALES.length)], Locale.class);
+        register(() -> new UUID(RandomSource.current().nextLong(), RandomSource.current().nextLong()), UUID.class);
+        // types of the time registry
+        register(() -> Duration.ofHours(RandomSource.current().nextInt(0, 100)), Duration.class);
+        register(instants, Instant.class);
+        register(dates, LocalDate.class);
+        register(() -> LocalDateTime.ofEpochSecond(RandomSource.current().nextLong(minSecond, maxSecond + 1), 0, ZoneOffset.UTC), LocalDateTime.class);
+        register(times, LocalTime.class);
+        register(() -> MonthDay.from(dates.getRandomValue()), MonthDay.class);
+        register(() -> OffsetDateTime.ofInstant(instants.getRandomValue(), ZoneOffset.UTC), OffsetDateTime.class);
+        register(() -> OffsetTime.of(times.getRandomValue(), ZoneOffset.UTC), OffsetTime.class);
+        register(() -> Period.of(RandomSource.current().nextInt(0, 10), RandomSource.current().nextInt(0, 12), RandomSource.current().nextInt(0, 28)), Period.class);
+        register(() -> TimeZone.getTimeZone(ZONE_IDS[RandomSource.current().nextInt(ZONE_IDS.length)]), TimeZone.class);
+        register(() -> YearMonth.from(dates.getRandomValue()), YearMonth.class);
+        register(() -> Year.from(dates.getRandomValue()), Year.class);
+        register(() -> ZonedDateTime.ofInstant(instants.getRandomValue(), ZoneOffset.UTC), ZonedDateTime.class);
+        register(() -> ZoneOffset.ofTotalSeconds(RandomSource.current().nextInt(-MAX_OFFSET_SECONDS, MAX_OFFSET_SECONDS + 1)), ZoneOffset.class);
+        register(() -> ZoneId.of(ZONE_IDS[RandomSource.current().nextInt(ZONE_IDS.length)]), ZoneId.class);
+    }
+
+    /**
+     * randomizer of the field type: fields are served before the seeded registries of lower priority
+     */
+    @Override
+    public Randomizer<?> getRandomizer(Field field) {
+        return getRandomizer(field.getType());
+    }
+
+    @Override
+    public Randomizer<?> getRandomizer(Class<?> type) {
+        return randomizers.get(type);
+    }
+
+    private void register(Randomizer<?> randomizer, Class<?>... types) {
+        for (Class<?> type : types) {
+            randomizers.put(type, randomizer);
+        }
+    }
+
+    private static URL[] urls() {
+        final URL[] urls = new URL[URIS.length];
+        for (int i = 0; i < urls.length; i++) {
+            try {
+                urls[i] = URIS[i].toURL();
+            } catch (MalformedURLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return urls;
+    }
+}
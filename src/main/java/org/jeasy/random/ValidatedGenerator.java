@@ -0,0 +1,306 @@
+package org.jeasy.random;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ElementKind;
+import jakarta.validation.Path;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator;
+import org.jeasy.random.api.Randomizer;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Validated generation ({@link Random#validated()}): generated beans are checked by a Hibernate Validator
+ * {@link Validator}, for constraints that can not be generated constructively such as custom validators.
+ * <p>
+ * Elements of a collection, an array or a stream are checked as a batch, and each round only the rejected elements
+ * are checked again. Only the offending properties of a rejected bean are regenerated, with their validation
+ * randomizer when they have one; the whole element is regenerated for class level constraints, getter constraints
+ * and records. After {@link Random#retries()} rounds the invalid values are kept, see {@link ValidationStats}.
+ * Elements of a set that collapse into duplicates once regenerated are replaced by new elements, so the set keeps its
+ * size.
+ * <p>
+ * Hibernate Validator 8 only checks {@code jakarta.validation} constraints: {@code javax.validation} constraints, such
+ * as the {@code @Pattern} of a legacy domain class, are generated by their handlers but not checked, a warning is
+ * logged once per class declaring them.
+ *
+ * @author linux_china
+ */
+class ValidatedGenerator {
+    private static final System.Logger LOGGER = System.getLogger(ValidatedGenerator.class.getName());
+    /**
+     * is the class constrained for the validator, a warning is logged on first check if it declares
+     * {@code javax.validation} constraints
+     */
+    private static final ClassValue<Boolean> BEAN_CONSTRAINED = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            if (hasJavaxConstraints(type)) {
+                LOGGER.log(System.Logger.Level.WARNING, "javax.validation constraints of " + type.getName()
+                        + " are not checked by validated generation, only jakarta.validation constraints are");
+            }
+            return Validators.VALIDATOR.getConstraintsForClass(type).isBeanConstrained();
+        }
+    };
+    private final int retries;
+
+    ValidatedGenerator(int retries) {
+        this.retries = retries;
+    }
+
+    /**
+     * wrap a resolution plan with validation
+     *
+     * @param plan    plan
+     * @param retries max regeneration rounds
+     * @return validated plan
+     */
+    static ResolutionPlan validating(ResolutionPlan plan, int retries) {
+        if (Validators.VALIDATOR == null) {
+            throw new ObjectCreationException("Validated generation requires hibernate-validator on the classpath");
+        }
+        final ValidatedGenerator generator = new ValidatedGenerator(retries);
+        return random -> generator.validate(plan.generate(random), random);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Object validate(Object value, SeededRandom random) {
+        if (value instanceof Object[] array) {
+            validateAll(array, random);
+            return array;
+        } else if (value instanceof Set set) {
+            final Object[] elements = set.toArray();
+            if (validateAll(elements, random)) {
+                // regenerated properties change hash codes
+                set.clear();
+                set.addAll(Arrays.asList(elements));
+                restoreSize(set, elements, random);
+            }
+            return set;
+        } else if (value instanceof List list) {
+            final Object[] elements = list.toArray();
+            if (validateAll(elements, random)) {
+                for (int i = 0; i < elements.length; i++) {
+                    list.set(i, elements[i]);
+                }
+            }
+            return list;
+        } else if (value instanceof Stream<?> stream) {
+            return stream.map(element -> {
+                final Object[] elements = {element};
+                validateAll(elements, random);
+                return elements[0];
+            });
+        }
+        final Object[] elements = {value};
+        validateAll(elements, random);
+        return elements[0];
+    }
+
+    /**
+     * replace the elements of a set collapsed into duplicates by regeneration with new validated elements,
+     * each missing element is generated at most {@code retries + 1} times
+     *
+     * @param set      set
+     * @param elements elements before collapsing
+     * @param random   seeded random
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void restoreSize(Set set, Object[] elements, SeededRandom random) {
+        final Class<?> elementType = Arrays.stream(elements).filter(Objects::nonNull).findFirst().map(Object::getClass).orElse(null);
+        if (elementType == null) {
+            return;
+        }
+        for (int attempts = (elements.length - set.size()) * (retries + 1); set.size() < elements.length && attempts > 0; attempts--) {
+            final Object[] element = {random.getEasyRandom().nextObject(elementType)};
+            validateAll(element, random);
+            set.add(element[0]);
+        }
+    }
+
+    /**
+     * validate elements and regenerate rejected ones in place
+     *
+     * @param elements elements
+     * @param random   seeded random
+     * @return true if an element was regenerated
+     */
+    private boolean validateAll(Object[] elements, SeededRandom random) {
+        final Validator validator = Validators.VALIDATOR;
+        int[] pending = new int[elements.length];
+        int pendingCount = 0;
+        for (int i = 0; i < elements.length; i++) {
+            final Object element = elements[i];
+            if (element != null && BEAN_CONSTRAINED.get(element.getClass())) {
+                pending[pendingCount++] = i;
+            }
+        }
+        boolean regenerated = false;
+        for (int round = 0; pendingCount > 0; round++) {
+            int rejectedCount = 0;
+            for (int p = 0; p < pendingCount; p++) {
+                final int i = pending[p];
+                final Object element = elements[i];
+                final Set<ConstraintViolation<Object>> violations = validator.validate(element);
+                ValidationStats.checked(element.getClass(), !violations.isEmpty());
+                if (violations.isEmpty()) {
+                    continue;
+                }
+                if (round == retries) {
+                    ValidationStats.failed(element.getClass());
+                    continue;
+                }
+                elements[i] = regenerate(element, violations, random);
+                pending[rejectedCount++] = i;
+                regenerated = true;
+            }
+            pendingCount = rejectedCount;
+        }
+        return regenerated;
+    }
+
+    /**
+     * regenerate offending properties of the bean, or the bean itself when a property can not be set
+     */
+    private Object regenerate(Object bean, Set<ConstraintViolation<Object>> violations, SeededRandom random) {
+        final Map<Object, Set<Field>> offendingFields = new IdentityHashMap<>();
+        for (ConstraintViolation<Object> violation : violations) {
+            final Object leafBean = violation.getLeafBean();
+            final Field field = leafBean != null ? findField(leafBean.getClass(), lastPropertyName(violation.getPropertyPath())) : null;
+            if (field == null) {
+                synchronized (random) {
+                    return random.getEasyRandom().nextObject(bean.getClass());
+                }
+            }
+            offendingFields.computeIfAbsent(leafBean, key -> new LinkedHashSet<>()).add(field);
+        }
+        synchronized (random) {
+            for (Map.Entry<Object, Set<Field>> entry : offendingFields.entrySet()) {
+                final Object leafBean = entry.getKey();
+                Object freshBean = null;
+                for (Field field : entry.getValue()) {
+                    try {
+                        final Randomizer<?> randomizer = getRandomizer(field, random);
+                        final Object value;
+                        if (randomizer != null) {
+                            value = randomizer.getRandomValue();
+                        } else if (field.getGenericType() instanceof Class<?>) {
+                            value = random.getEasyRandom().nextObject(field.getType());
+                        } else {
+                            // generic property, take it from a fresh bean to keep its type arguments
+                            if (freshBean == null) {
+                                freshBean = random.getEasyRandom().nextObject(leafBean.getClass());
+                            }
+                            value = field.get(freshBean);
+                        }
+                        field.set(leafBean, value);
+                    } catch (Exception e) {
+                        return random.getEasyRandom().nextObject(bean.getClass());
+                    }
+                }
+            }
+        }
+        return bean;
+    }
+
+    private Randomizer<?> getRandomizer(Field field, SeededRandom random) {
+        return random.getResources().getBeanValidationHandlers().getRandomizer(field);
+    }
+
+    /**
+     * does the class or one of its superclasses declare {@code javax.validation} constraints on the class, its fields
+     * or its methods
+     */
+    private static boolean hasJavaxConstraints(Class<?> type) {
+        for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            if (hasJavaxConstraint(clazz.getDeclaredAnnotations())) {
+                return true;
+            }
+            for (Field field : clazz.getDeclaredFields()) {
+                if (hasJavaxConstraint(field.getDeclaredAnnotations())) {
+                    return true;
+                }
+            }
+            for (Method method : clazz.getDeclaredMethods()) {
+                if (hasJavaxConstraint(method.getDeclaredAnnotations())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasJavaxConstraint(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            final Class<? extends Annotation> annotationType = annotation.annotationType();
+            if (annotationType.getName().startsWith("javax.validation.")) {
+                return true;
+            }
+            for (Annotation metaAnnotation : annotationType.getDeclaredAnnotations()) {
+                if (metaAnnotation.annotationType().getName().equals("javax.validation.Constraint")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String lastPropertyName(Path path) {
+        String name = null;
+        for (Path.Node node : path) {
+            if (node.getKind() == ElementKind.PROPERTY) {
+                name = node.getName();
+            }
+        }
+        return name;
+    }
+
+    /**
+     * find a settable field
+     *
+     * @return field, null if not found, final or declared by a record
+     */
+    private static Field findField(Class<?> type, String name) {
+        if (name == null || type.isRecord()) {
+            return null;
+        }
+        for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            try {
+                final Field field = clazz.getDeclaredField(name);
+                if (Modifier.isFinal(field.getModifiers()) || Modifier.isStatic(field.getModifiers())) {
+                    return null;
+                }
+                field.setAccessible(true);
+                return field;
+            } catch (NoSuchFieldException ignore) {
+
+            }
+        }
+        return null;
+    }
+
+    /**
+     * validator built once per JVM on first use, null without hibernate-validator
+     */
+    private static final class Validators {
+        static final Validator VALIDATOR = build();
+
+        private static Validator build() {
+            try {
+                return Validation.byDefaultProvider()
+                        .configure()
+                        .messageInterpolator(new ParameterMessageInterpolator())
+                        .buildValidatorFactory()
+                        .getValidator();
+            } catch (Throwable e) {
+                return null;
+            }
+        }
+    }
+}
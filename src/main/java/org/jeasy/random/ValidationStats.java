@@ -0,0 +1,136 @@
+package org.jeasy.random;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rejection statistics of validated generation ({@link Random#validated()}), per generated type since JVM start:
+ * a type with a high rejection rate is a good candidate for a dedicated randomizer or validation handler.
+ *
+ * @author linux_china
+ */
+public final class ValidationStats {
+    private static final Map<Class<?>, Counters> COUNTERS = new ConcurrentHashMap<>();
+
+    private ValidationStats() {
+    }
+
+    /**
+     * count of validations of generated instances of the type, retries included
+     *
+     * @param type generated type
+     * @return checks count
+     */
+    public static long checks(Class<?> type) {
+        final Counters counters = COUNTERS.get(type);
+        return counters != null ? counters.checks.sum() : 0;
+    }
+
+    /**
+     * count of validations of generated instances of the type with constraint violations
+     *
+     * @param type generated type
+     * @return rejections count
+     */
+    public static long rejections(Class<?> type) {
+        final Counters counters = COUNTERS.get(type);
+        return counters != null ? counters.rejections.sum() : 0;
+    }
+
+    /**
+     * count of instances of the type still invalid when retries were exhausted
+     *
+     * @param type generated type
+     * @return failures count
+     */
+    public static long failures(Class<?> type) {
+        final Counters counters = COUNTERS.get(type);
+        return counters != null ? counters.failures.sum() : 0;
+    }
+
+    /**
+     * rejection rate of the type: rejections / checks
+     *
+     * @param type generated type
+     * @return rejection rate, 0 if never checked
+     */
+    public static double rejectionRate(Class<?> type) {
+        final Counters counters = COUNTERS.get(type);
+        return counters != null ? counters.rejectionRate() : 0;
+    }
+
+    /**
+     * rejection rates of all checked types, sorted by type name
+     *
+     * @return type name to rejection rate
+     */
+    public static Map<String, Double> rejectionRates() {
+        final Map<String, Double> rates = new TreeMap<>();
+        COUNTERS.forEach((type, counters) -> rates.put(type.getName(), counters.rejectionRate()));
+        return Collections.unmodifiableMap(rates);
+    }
+
+    /**
+     * checks and rejections of all checked types, to compute the rejection rates of a period with
+     * {@link #rejectionRatesSince(Map)}
+     *
+     * @return type to checks and rejections counts
+     */
+    static Map<Class<?>, long[]> snapshot() {
+        final Map<Class<?>, long[]> snapshot = new HashMap<>();
+        COUNTERS.forEach((type, counters) -> snapshot.put(type, new long[]{counters.checks.sum(), counters.rejections.sum()}));
+        return snapshot;
+    }
+
+    /**
+     * rejection rates of the types checked since a snapshot, sorted by type name
+     *
+     * @param snapshot snapshot taken at the start of the period
+     * @return type name to rejection rate of the period
+     */
+    static Map<String, Double> rejectionRatesSince(Map<Class<?>, long[]> snapshot) {
+        final Map<String, Double> rates = new TreeMap<>();
+        COUNTERS.forEach((type, counters) -> {
+            final long[] start = snapshot.getOrDefault(type, new long[2]);
+            final long checks = counters.checks.sum() - start[0];
+            if (checks > 0) {
+                rates.put(type.getName(), (double) (counters.rejections.sum() - start[1]) / checks);
+            }
+        });
+        return Collections.unmodifiableMap(rates);
+    }
+
+    /**
+     * clear statistics
+     */
+    public static void reset() {
+        COUNTERS.clear();
+    }
+
+    static void checked(Class<?> type, boolean rejected) {
+        final Counters counters = COUNTERS.computeIfAbsent(type, key -> new Counters());
+        counters.checks.increment();
+        if (rejected) {
+            counters.rejections.increment();
+        }
+    }
+
+    static void failed(Class<?> type) {
+        COUNTERS.computeIfAbsent(type, key -> new Counters()).failures.increment();
+    }
+
+    private static final class Counters {
+        private final LongAdder checks = new LongAdder();
+        private final LongAdder rejections = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+
+        double rejectionRate() {
+            final long count = checks.sum();
+            return count == 0 ? 0 : (double) rejections.sum() / count;
+        }
+    }
+}
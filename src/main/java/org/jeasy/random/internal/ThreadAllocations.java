@@ -0,0 +1,34 @@
+package org.jeasy.random.internal;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Bytes allocated by the current thread, shared by the flight recorder events and the generation budgets of the
+ * extension and validation packages. The internal package is not an API and may change in any release.
+ *
+ * @author linux_china
+ */
+public final class ThreadAllocations {
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = threadMXBean();
+
+    private ThreadAllocations() {
+    }
+
+    /**
+     * bytes allocated by the current thread since its start
+     *
+     * @return allocated bytes, 0 if thread allocation measurement is not supported or disabled
+     */
+    public static long allocatedBytes() {
+        return THREAD_MX_BEAN != null ? THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        try {
+            final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            return threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled() ? threadMXBean : null;
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+}
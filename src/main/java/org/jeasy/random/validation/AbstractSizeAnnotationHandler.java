@@ -0,0 +1,209 @@
+/*
+ * The MIT License
+ *
+ *   Copyright (c) 2020, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *   IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *   FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *   AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *   LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *   OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+package org.jeasy.random.validation;
+
+import org.jeasy.random.EasyRandom;
+import org.jeasy.random.EasyRandomParameters;
+import org.jeasy.random.GraphGovernor;
+import org.jeasy.random.RandomSource;
+import org.jeasy.random.api.Randomizer;
+import org.objenesis.ObjenesisStd;
+
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static org.jeasy.random.util.ReflectionUtils.*;
+
+/**
+ * Base handler of size style constraints (@Size, @Length): strings, arrays, collections and maps with a size in range.
+ * <p>
+ * {@code int[]}, {@code long[]}, {@code double[]}, {@code byte[]} and {@code char[]} are filled in bulk from a primitive
+ * source, other arrays are filled without reflection, and collections and maps are created with their final capacity.
+ *
+ * @author linux_china
+ */
+abstract class AbstractSizeAnnotationHandler implements BeanValidationAnnotationHandler {
+    protected final EasyRandomParameters parameters;
+    private final SizeRangeEngines engines;
+
+    protected AbstractSizeAnnotationHandler(EasyRandomParameters parameters) {
+        this.parameters = parameters.copy();
+        this.engines = new SizeRangeEngines(this.parameters);
+    }
+
+    /**
+     * get randomizer for a field constrained to a size range
+     *
+     * @param field field
+     * @param min   min size
+     * @param max   max size, {@link Integer#MAX_VALUE} if unbounded
+     * @return randomizer, null if the field type has no size
+     */
+    @SuppressWarnings({"unchecked"})
+    protected Randomizer<?> getRandomizer(Field field, int min, int max) {
+        final Class<?> fieldType = field.getType();
+        final int maxSize = SizeRangeEngines.maxSize(min, max);
+        if (fieldType.equals(String.class)) {
+            return RandomSource.strings(parameters.getCharset(), min, maxSize);
+        }
+        // elements are generated by nested engines, within the graph governor of the target if any
+        if (isArrayType(fieldType)) {
+            return (Randomizer<Object>) () -> GraphGovernor.nested(() -> randomArray(fieldType.getComponentType(), min, maxSize));
+        }
+        if (isCollectionType(fieldType)) {
+            return (Randomizer<Object>) () -> GraphGovernor.nested(() -> randomCollection(fieldType, field.getGenericType(), min, maxSize));
+        }
+        if (isMapType(fieldType)) {
+            return (Randomizer<Object>) () -> GraphGovernor.nested(() -> randomMap(fieldType, field.getGenericType(), min, maxSize));
+        }
+        return null;
+    }
+
+    private Object randomArray(Class<?> componentType, int min, int max) {
+        final int size = GraphGovernor.collectionSize(engines.nextSize(min, max));
+        if (componentType.isPrimitive()) {
+            final SplittableRandom source = RandomSource.current();
+            if (componentType == int.class) {
+                return source.ints(size).toArray();
+            } else if (componentType == long.class) {
+                return source.longs(size).toArray();
+            } else if (componentType == double.class) {
+                return source.doubles(size).toArray();
+            } else if (componentType == byte.class) {
+                final byte[] bytes = new byte[size];
+                source.nextBytes(bytes);
+                return bytes;
+            } else if (componentType == char.class) {
+                return RandomSource.letters(parameters.getCharset(), size);
+            }
+            // boolean, short and float arrays
+            final EasyRandom easyRandom = engines.get(min, max);
+            final Object array = Array.newInstance(componentType, size);
+            for (int i = 0; i < size; i++) {
+                Array.set(array, i, easyRandom.nextObject(componentType));
+            }
+            return array;
+        }
+        final EasyRandom easyRandom = engines.get(min, max);
+        final Object[] array = (Object[]) Array.newInstance(componentType, size);
+        for (int i = 0; i < size; i++) {
+            array[i] = easyRandom.nextObject(componentType);
+        }
+        return array;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object randomCollection(Class<?> fieldType, Type fieldGenericType, int min, int max) {
+        final int size = GraphGovernor.collectionSize(engines.nextSize(min, max));
+        final Collection collection = isInterface(fieldType)
+                ? emptyCollection(fieldType, size)
+                : createEmptyCollectionForType(fieldType, size);
+        if (isParameterizedType(fieldGenericType)) { // populate only parameterized types, raw types will be empty
+            final Type type = ((ParameterizedType) fieldGenericType).getActualTypeArguments()[0];
+            if (isPopulatable(type)) {
+                final EasyRandom easyRandom = engines.get(min, max);
+                for (int i = 0; i < size; i++) {
+                    collection.add(easyRandom.nextObject((Class<?>) type));
+                }
+            }
+        }
+        return collection;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object randomMap(Class<?> fieldType, Type fieldGenericType, int min, int max) {
+        final int size = GraphGovernor.collectionSize(engines.nextSize(min, max));
+        Map<Object, Object> map;
+        if (isInterface(fieldType)) {
+            map = emptyMap(fieldType, size);
+        } else {
+            try {
+                map = (Map<Object, Object>) fieldType.getDeclaredConstructor().newInstance();
+            } catch (InstantiationException | IllegalAccessException | NoSuchMethodException |
+                     InvocationTargetException e) {
+                if (fieldType.isAssignableFrom(EnumMap.class)) {
+                    if (isParameterizedType(fieldGenericType)) {
+                        Type type = ((ParameterizedType) fieldGenericType).getActualTypeArguments()[0];
+                        map = new EnumMap((Class<?>) type);
+                    } else {
+                        return null;
+                    }
+                } else {
+                    map = (Map<Object, Object>) new ObjenesisStd().newInstance(fieldType);
+                }
+            }
+        }
+        if (isParameterizedType(fieldGenericType)) { // populate only parameterized types, raw types will be empty
+            ParameterizedType parameterizedType = (ParameterizedType) fieldGenericType;
+            Type keyType = parameterizedType.getActualTypeArguments()[0];
+            Type valueType = parameterizedType.getActualTypeArguments()[1];
+            if (isPopulatable(keyType) && isPopulatable(valueType)) {
+                final EasyRandom easyRandom = engines.get(min, max);
+                for (int index = 0; index < size; index++) {
+                    Object randomKey = easyRandom.nextObject((Class<?>) keyType);
+                    Object randomValue = easyRandom.nextObject((Class<?>) valueType);
+                    if (randomKey != null) {
+                        map.put(randomKey, randomValue);
+                    }
+                }
+            }
+        }
+        return map;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Collection emptyCollection(Class<?> collectionInterface, int size) {
+        if (collectionInterface == List.class || collectionInterface == Collection.class) {
+            return new ArrayList<>(size);
+        } else if (collectionInterface == Set.class) {
+            return new HashSet<>(capacity(size));
+        } else if (collectionInterface == Queue.class || collectionInterface == Deque.class) {
+            return new ArrayDeque<>(size);
+        }
+        return getEmptyImplementationForCollectionInterface(collectionInterface);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Object, Object> emptyMap(Class<?> mapInterface, int size) {
+        if (mapInterface == Map.class) {
+            return new HashMap<>(capacity(size));
+        } else if (mapInterface == ConcurrentMap.class) {
+            return new ConcurrentHashMap<>(capacity(size));
+        } else if (mapInterface == ConcurrentNavigableMap.class) {
+            return new ConcurrentSkipListMap<>();
+        }
+        return (Map<Object, Object>) getEmptyImplementationForMapInterface(mapInterface);
+    }
+
+    /**
+     * hash table capacity holding the size without rehash
+     */
+    private static int capacity(int size) {
+        return (int) Math.min(Integer.MAX_VALUE, size * 4L / 3 + 1);
+    }
+}
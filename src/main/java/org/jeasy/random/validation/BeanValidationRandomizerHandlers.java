@@ -1,7 +1,7 @@
 package org.jeasy.random.validation;
 
-import net.bytebuddy.ByteBuddy;
 import org.jeasy.random.EasyRandomParameters;
+import org.jeasy.random.RandomSource;
 import org.jeasy.random.api.Randomizer;
 import org.jeasy.random.api.RandomizerRegistry;
 
@@ -10,8 +10,10 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Field;
 import java.lang.reflect.Parameter;
-import java.util.HashMap;
-import java.util.Map;
+import java.lang.reflect.Type;
+import java.time.Period;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
@@ -21,61 +23,84 @@ import java.util.Map;
  * @author linux_china
  */
 public class BeanValidationRandomizerHandlers implements RandomizerRegistry {
-    protected Map<Class<? extends Annotation>, BeanValidationAnnotationHandler> annotationHandlers = new HashMap<>();
+    /**
+     * annotations of composed annotation types, resolved once per annotation type
+     */
+    private static final ClassValue<List<Annotation>> COMPOSED_ANNOTATIONS = new ClassValue<>() {
+        @Override
+        protected List<Annotation> computeValue(Class<?> annotationType) {
+            return composedAnnotations(annotationType);
+        }
+    };
+    protected Map<Class<? extends Annotation>, BeanValidationAnnotationHandler> annotationHandlers = new LinkedHashMap<>();
+    /**
+     * randomizers of fields, created once per field
+     */
+    private final Map<Field, Optional<Randomizer<?>>> fieldRandomizers = new ConcurrentHashMap<>();
+    /**
+     * names of the handlers which built the randomizers of bindings
+     */
+    private final Map<Binding, String> handlerNames = new ConcurrentHashMap<>();
+    private ConstraintComposer constraintComposer;
 
+    /**
+     * create the handlers, they draw from the source of the generating thread, see {@link RandomSource}
+     *
+     * @param parameters parameters
+     */
     public void init(EasyRandomParameters parameters) {
-        long seed = parameters.getSeed();
+        constraintComposer = new ConstraintComposer(this, parameters);
         //javax validation
         annotationHandlers.put(AssertFalse.class, new AssertFalseAnnotationHandler());
         annotationHandlers.put(AssertTrue.class, new AssertTrueAnnotationHandler());
         annotationHandlers.put(Null.class, new NullAnnotationHandler());
-        annotationHandlers.put(Future.class, new FutureAnnotationHandler(parameters));
-        annotationHandlers.put(FutureOrPresent.class, new FutureOrPresentAnnotationHandler(parameters));
-        annotationHandlers.put(Past.class, new PastAnnotationHandler(parameters));
-        annotationHandlers.put(PastOrPresent.class, new PastOrPresentAnnotationHandler(parameters));
-        annotationHandlers.put(Min.class, new MinMaxAnnotationHandler(seed));
-        annotationHandlers.put(Max.class, new MinMaxAnnotationHandler(seed));
-        annotationHandlers.put(DecimalMin.class, new DecimalMinMaxAnnotationHandler(seed));
-        annotationHandlers.put(DecimalMax.class, new DecimalMinMaxAnnotationHandler(seed));
-        annotationHandlers.put(Pattern.class, new PatternAnnotationHandler(seed));
-        annotationHandlers.put(Size.class, new SizeAnnotationHandler(parameters));
-        annotationHandlers.put(Positive.class, new PositiveAnnotationHandler(seed));
-        annotationHandlers.put(PositiveOrZero.class, new PositiveOrZeroAnnotationHandler(seed));
-        annotationHandlers.put(Negative.class, new NegativeAnnotationHandler(seed));
-        annotationHandlers.put(NegativeOrZero.class, new NegativeOrZeroAnnotationHandler(seed));
-        annotationHandlers.put(NotBlank.class, new NotBlankAnnotationHandler(seed));
-        annotationHandlers.put(Email.class, new EmailAnnotationHandler(seed));
+        annotationHandlers.put(Future.class, new TemporalRangeAnnotationHandler(parameters, Period.ofDays(1), Period.ofYears(10)));
+        annotationHandlers.put(FutureOrPresent.class, new TemporalRangeAnnotationHandler(parameters, Period.ZERO, Period.ofYears(10)));
+        annotationHandlers.put(Past.class, new TemporalRangeAnnotationHandler(parameters, Period.ofYears(-10), Period.ofDays(-1)));
+        annotationHandlers.put(PastOrPresent.class, new TemporalRangeAnnotationHandler(parameters, Period.ofYears(-10), Period.ZERO));
+        annotationHandlers.put(Min.class, new NumberRangeAnnotationHandler(Min.class));
+        annotationHandlers.put(Max.class, new NumberRangeAnnotationHandler(Max.class));
+        annotationHandlers.put(DecimalMin.class, new NumberRangeAnnotationHandler(DecimalMin.class));
+        annotationHandlers.put(DecimalMax.class, new NumberRangeAnnotationHandler(DecimalMax.class));
+        annotationHandlers.put(Pattern.class, new JavaxPatternAnnotationHandler());
+        annotationHandlers.put(Size.class, new JavaxSizeAnnotationHandler(parameters));
+        annotationHandlers.put(Positive.class, new NumberRangeAnnotationHandler(Positive.class));
+        annotationHandlers.put(PositiveOrZero.class, new NumberRangeAnnotationHandler(PositiveOrZero.class));
+        annotationHandlers.put(Negative.class, new NumberRangeAnnotationHandler(Negative.class));
+        annotationHandlers.put(NegativeOrZero.class, new NumberRangeAnnotationHandler(NegativeOrZero.class));
+        annotationHandlers.put(NotBlank.class, new NotBlankStringAnnotationHandler(parameters));
+        annotationHandlers.put(Email.class, new EmailAddressAnnotationHandler());
         //jakarta validation
         try {
             Class.forName("jakarta.validation.constraints.Pattern");
             annotationHandlers.put(jakarta.validation.constraints.AssertFalse.class, new AssertFalseAnnotationHandler());
             annotationHandlers.put(jakarta.validation.constraints.AssertTrue.class, new AssertTrueAnnotationHandler());
             annotationHandlers.put(jakarta.validation.constraints.Null.class, new NullAnnotationHandler());
-            annotationHandlers.put(jakarta.validation.constraints.Future.class, new FutureAnnotationHandler(parameters));
-            annotationHandlers.put(jakarta.validation.constraints.FutureOrPresent.class, new FutureOrPresentAnnotationHandler(parameters));
-            annotationHandlers.put(jakarta.validation.constraints.Past.class, new PastAnnotationHandler(parameters));
-            annotationHandlers.put(jakarta.validation.constraints.PastOrPresent.class, new PastOrPresentAnnotationHandler(parameters));
-            annotationHandlers.put(jakarta.validation.constraints.Min.class, new JakartaMinMaxAnnotationHandler(seed));
-            annotationHandlers.put(jakarta.validation.constraints.Max.class, new JakartaMinMaxAnnotationHandler(seed));
-            annotationHandlers.put(jakarta.validation.constraints.DecimalMin.class, new JakartaDecimalMinMaxAnnotationHandler(seed));
-            annotationHandlers.put(jakarta.validation.constraints.DecimalMax.class, new JakartaDecimalMinMaxAnnotationHandler(seed));
-            annotationHandlers.put(jakarta.validation.constraints.Pattern.class, new JakartaPatternAnnotationHandler(seed));
+            annotationHandlers.put(jakarta.validation.constraints.Future.class, new TemporalRangeAnnotationHandler(parameters, Period.ofDays(1), Period.ofYears(10)));
+            annotationHandlers.put(jakarta.validation.constraints.FutureOrPresent.class, new TemporalRangeAnnotationHandler(parameters, Period.ZERO, Period.ofYears(10)));
+            annotationHandlers.put(jakarta.validation.constraints.Past.class, new TemporalRangeAnnotationHandler(parameters, Period.ofYears(-10), Period.ofDays(-1)));
+            annotationHandlers.put(jakarta.validation.constraints.PastOrPresent.class, new TemporalRangeAnnotationHandler(parameters, Period.ofYears(-10), Period.ZERO));
+            annotationHandlers.put(jakarta.validation.constraints.Min.class, new NumberRangeAnnotationHandler(jakarta.validation.constraints.Min.class));
+            annotationHandlers.put(jakarta.validation.constraints.Max.class, new NumberRangeAnnotationHandler(jakarta.validation.constraints.Max.class));
+            annotationHandlers.put(jakarta.validation.constraints.DecimalMin.class, new NumberRangeAnnotationHandler(jakarta.validation.constraints.DecimalMin.class));
+            annotationHandlers.put(jakarta.validation.constraints.DecimalMax.class, new NumberRangeAnnotationHandler(jakarta.validation.constraints.DecimalMax.class));
+            annotationHandlers.put(jakarta.validation.constraints.Pattern.class, new JakartaPatternAnnotationHandler());
             annotationHandlers.put(jakarta.validation.constraints.Size.class, new JakartaSizeAnnotationHandler(parameters));
-            annotationHandlers.put(jakarta.validation.constraints.Positive.class, new PositiveAnnotationHandler(seed));
-            annotationHandlers.put(jakarta.validation.constraints.PositiveOrZero.class, new PositiveOrZeroAnnotationHandler(seed));
-            annotationHandlers.put(jakarta.validation.constraints.Negative.class, new NegativeAnnotationHandler(seed));
-            annotationHandlers.put(jakarta.validation.constraints.NegativeOrZero.class, new NegativeOrZeroAnnotationHandler(seed));
-            annotationHandlers.put(jakarta.validation.constraints.NotBlank.class, new NotBlankAnnotationHandler(seed));
-            annotationHandlers.put(jakarta.validation.constraints.Email.class, new EmailAnnotationHandler(seed));
+            annotationHandlers.put(jakarta.validation.constraints.Positive.class, new NumberRangeAnnotationHandler(jakarta.validation.constraints.Positive.class));
+            annotationHandlers.put(jakarta.validation.constraints.PositiveOrZero.class, new NumberRangeAnnotationHandler(jakarta.validation.constraints.PositiveOrZero.class));
+            annotationHandlers.put(jakarta.validation.constraints.Negative.class, new NumberRangeAnnotationHandler(jakarta.validation.constraints.Negative.class));
+            annotationHandlers.put(jakarta.validation.constraints.NegativeOrZero.class, new NumberRangeAnnotationHandler(jakarta.validation.constraints.NegativeOrZero.class));
+            annotationHandlers.put(jakarta.validation.constraints.NotBlank.class, new NotBlankStringAnnotationHandler(parameters));
+            annotationHandlers.put(jakarta.validation.constraints.Email.class, new EmailAddressAnnotationHandler());
         } catch (Exception ignore) {
         }
         //hibernate validator
         try {
             Class.forName("org.hibernate.validator.constraints.URL");
             annotationHandlers.put(org.hibernate.validator.constraints.URL.class, new URLAnnotationHandler());
-            annotationHandlers.put(org.hibernate.validator.constraints.ISBN.class, new IsbnAnnotationHandler(seed));
-            annotationHandlers.put(org.hibernate.validator.constraints.CreditCardNumber.class, new CreditCardNumberAnnotationHandler(seed));
-            annotationHandlers.put(org.hibernate.validator.constraints.EAN.class, new EANAnnotationHandler(seed));
+            annotationHandlers.put(org.hibernate.validator.constraints.ISBN.class, new IsbnAnnotationHandler());
+            annotationHandlers.put(org.hibernate.validator.constraints.CreditCardNumber.class, new CreditCardNumberAnnotationHandler());
+            annotationHandlers.put(org.hibernate.validator.constraints.EAN.class, new EANAnnotationHandler());
             annotationHandlers.put(org.hibernate.validator.constraints.UUID.class, new UUIDAnnotationHandler());
             annotationHandlers.put(org.hibernate.validator.constraints.Length.class, new LengthAnnotationHandler(parameters));
             annotationHandlers.put(org.hibernate.validator.constraints.Range.class, new RangeAnnotationHandler());
@@ -84,28 +109,175 @@ public class BeanValidationRandomizerHandlers implements RandomizerRegistry {
     }
 
     public Randomizer<?> getRandomizer(final Parameter param) {
-        for (Map.Entry<Class<? extends Annotation>, BeanValidationAnnotationHandler> entry : annotationHandlers.entrySet()) {
-            Class<? extends Annotation> annotation = entry.getKey();
-            BeanValidationAnnotationHandler annotationHandler = entry.getValue();
-            final Annotation validationAnnotation = getValidationAnnotation(param, annotation);
-            if (validationAnnotation != null && annotationHandler != null) {
-                final Field field = mockField(param.getName(), param.getType(), validationAnnotation);
-                if (field != null) {
-                    return annotationHandler.getRandomizer(field);
-                }
+        final Binding binding = bind(param);
+        return binding != null ? getRandomizer(binding) : null;
+    }
+
+    public Randomizer<?> getRandomizer(final Field field) {
+        return fieldRandomizers.computeIfAbsent(field, key -> {
+            final Binding binding = bind(key);
+            return Optional.ofNullable(binding != null ? getRandomizer(binding) : null);
+        }).orElse(null);
+    }
+
+    /**
+     * get randomizer for a binding, the binding may come from other handlers.
+     * The randomizer of an element with several constraints generates values satisfying all of them when they
+     * can be composed, see {@link ConstraintComposer}, else it only follows the bound annotation.
+     * The randomizer draws from the source of the generating thread, see {@link RandomSource}.
+     *
+     * @param binding binding
+     * @return randomizer, null if no handler for the annotation type
+     */
+    public Randomizer<?> getRandomizer(final Binding binding) {
+        return RandomSource.detached(() -> newRandomizer(binding));
+    }
+
+    private Randomizer<?> newRandomizer(final Binding binding) {
+        Randomizer<?> randomizer = null;
+        String handler = null;
+        if (binding.constraints().size() > 1 && constraintComposer != null) {
+            randomizer = constraintComposer.compose(binding.field(), binding.constraints());
+            handler = ConstraintComposer.class.getSimpleName();
+        }
+        if (randomizer == null) {
+            final BeanValidationAnnotationHandler annotationHandler = annotationHandlers.get(binding.annotationType());
+            if (annotationHandler != null) {
+                randomizer = annotationHandler.getRandomizer(binding.field());
+                handler = annotationHandler.getClass().getSimpleName();
+            }
+        }
+        if (handler != null) {
+            handlerNames.put(binding, handler);
+        }
+        return randomizer != null ? observed(binding, handler, randomizer) : null;
+    }
+
+    /**
+     * randomizer emitting a {@link HandlerEvent} around each generated value
+     */
+    private static Randomizer<?> observed(final Binding binding, final String handler, final Randomizer<?> randomizer) {
+        return () -> {
+            final HandlerEvent event = new HandlerEvent();
+            final long allocated = event.beginHandler();
+            final Object value = randomizer.getRandomValue();
+            if (allocated >= 0) {
+                event.commitHandler(binding, handler, allocated);
+            }
+            return value;
+        };
+    }
+
+    /**
+     * name of the handler generating values for a binding: {@link ConstraintComposer} when the constraints are
+     * composed, else the handler of the bound annotation
+     *
+     * @param binding binding
+     * @return handler name, null if no handler for the annotation type
+     */
+    public String getHandlerName(final Binding binding) {
+        if (!handlerNames.containsKey(binding)) {
+            getRandomizer(binding);
+        }
+        return handlerNames.get(binding);
+    }
+
+    /**
+     * get randomizer of the handler of a validation annotation of a field
+     *
+     * @param field      field, carrying the annotation or not
+     * @param annotation validation annotation
+     * @return randomizer, null if no handler for the annotation type
+     */
+    Randomizer<?> getRandomizer(final Field field, final Annotation annotation) {
+        final BeanValidationAnnotationHandler annotationHandler = annotationHandlers.get(annotation.annotationType());
+        if (annotationHandler == null) {
+            return null;
+        }
+        if (field.getAnnotation(annotation.annotationType()) == annotation) {
+            return RandomSource.detached(() -> annotationHandler.getRandomizer(field));
+        }
+        final Field field2 = mockField(field.getDeclaringClass(), field.getName(), field.getGenericType(), annotation);
+        return field2 != null ? RandomSource.detached(() -> annotationHandler.getRandomizer(field2)) : null;
+    }
+
+    /**
+     * bind a parameter to the first validation annotation with a handler
+     *
+     * @param param parameter
+     * @return binding, null if no validation annotation
+     */
+    public Binding bind(final Parameter param) {
+        final List<Annotation> constraintAnnotations = getConstraintAnnotations(param);
+        final Annotation validationAnnotation = firstConstraintAnnotation(constraintAnnotations);
+        if (validationAnnotation != null) {
+            final Field field = mockField(param.getDeclaringExecutable().getDeclaringClass(), param.getName(), param.getParameterizedType(), validationAnnotation);
+            if (field != null) {
+                return new Binding(validationAnnotation.annotationType(), field, constraintAnnotations);
             }
         }
         return null;
     }
 
-    public Randomizer<?> getRandomizer(final Field field) {
-        for (Map.Entry<Class<? extends Annotation>, BeanValidationAnnotationHandler> entry : annotationHandlers.entrySet()) {
-            Class<? extends Annotation> annotation = entry.getKey();
-            BeanValidationAnnotationHandler annotationHandler = entry.getValue();
-            final Annotation validationAnnotation = getValidationAnnotation(field, annotation);
-            if (validationAnnotation != null && annotationHandler != null) {
-                final Field field2 = mockField(field.getName(), field.getType(), validationAnnotation);
-                return annotationHandler.getRandomizer(field2);
+    /**
+     * bind a field to the first validation annotation with a handler
+     *
+     * @param field field
+     * @return binding, null if no validation annotation
+     */
+    public Binding bind(final Field field) {
+        final List<Annotation> constraintAnnotations = getConstraintAnnotations(field);
+        final Annotation validationAnnotation = firstConstraintAnnotation(constraintAnnotations);
+        if (validationAnnotation != null) {
+            final Class<? extends Annotation> annotation = validationAnnotation.annotationType();
+            // annotation declared on the field itself, no need for a synthetic field
+            if (field.getAnnotation(annotation) == validationAnnotation) {
+                return new Binding(annotation, field, constraintAnnotations);
+            }
+            final Field field2 = mockField(field.getDeclaringClass(), field.getName(), field.getGenericType(), validationAnnotation);
+            if (field2 != null) {
+                return new Binding(annotation, field2, constraintAnnotations);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * validation annotations with a handler on an element, declared on the element or on its composed annotations,
+     * in declaration order
+     *
+     * @param element annotated element
+     * @return validation annotations
+     */
+    public List<Annotation> getConstraintAnnotations(final AnnotatedElement element) {
+        final Annotation[] annotations = element.getAnnotations();
+        final List<Annotation> constraintAnnotations = new ArrayList<>(annotations.length);
+        for (Annotation annotation : annotations) {
+            if (annotationHandlers.get(annotation.annotationType()) != null) {
+                constraintAnnotations.add(annotation);
+            } else {
+                for (Annotation composedAnnotation : COMPOSED_ANNOTATIONS.get(annotation.annotationType())) {
+                    if (annotationHandlers.get(composedAnnotation.annotationType()) != null) {
+                        constraintAnnotations.add(composedAnnotation);
+                    }
+                }
+            }
+        }
+        return constraintAnnotations;
+    }
+
+    /**
+     * first validation annotation in handlers order
+     */
+    private Annotation firstConstraintAnnotation(final List<Annotation> constraintAnnotations) {
+        if (constraintAnnotations.size() <= 1) {
+            return constraintAnnotations.isEmpty() ? null : constraintAnnotations.get(0);
+        }
+        for (Class<? extends Annotation> annotationType : annotationHandlers.keySet()) {
+            for (Annotation constraintAnnotation : constraintAnnotations) {
+                if (constraintAnnotation.annotationType() == annotationType) {
+                    return constraintAnnotation;
+                }
             }
         }
         return null;
@@ -116,16 +288,18 @@ public class BeanValidationRandomizerHandlers implements RandomizerRegistry {
         return null;
     }
 
-    private Field mockField(String name, Class<?> type, Annotation validationAnnotation) {
+    /**
+     * drop the randomizers of fields and the handler names, so that they do not keep the test classes reachable
+     * once the resources holding these handlers are closed
+     */
+    public void clear() {
+        fieldRandomizers.clear();
+        handlerNames.clear();
+    }
+
+    private Field mockField(Class<?> owner, String name, Type type, Annotation validationAnnotation) {
         try {
-            final Class<?> clazz = new ByteBuddy()
-                    .subclass(Object.class)
-                    .defineField(name, type)
-                    .annotateField(validationAnnotation)
-                    .make()
-                    .load(this.getClass().getClassLoader())
-                    .getLoaded();
-            return clazz.getDeclaredField(name);
+            return SyntheticFields.get(owner, name, type, validationAnnotation);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -133,16 +307,39 @@ public class BeanValidationRandomizerHandlers implements RandomizerRegistry {
     }
 
 
-    private Annotation getValidationAnnotation(AnnotatedElement element, Class<? extends Annotation> annotationClass) {
-        for (Annotation elementAnnotation : element.getAnnotations()) {
-            final Class<? extends Annotation> annotationType = elementAnnotation.annotationType();
-            if (annotationType == annotationClass) {
-                return elementAnnotation;
-            } else if (annotationType.isAnnotationPresent(annotationClass)) {
-                return annotationType.getAnnotation(annotationClass);
+    /**
+     * annotations of a composed annotation type (like a @Phone carrying a @Pattern), including the annotations
+     * of nested composed annotations
+     */
+    private static List<Annotation> composedAnnotations(Class<?> annotationType) {
+        final List<Annotation> composedAnnotations = new ArrayList<>();
+        final Set<Class<?>> visited = new HashSet<>();
+        final Deque<Class<?>> pending = new ArrayDeque<>();
+        pending.add(annotationType);
+        visited.add(annotationType);
+        while (!pending.isEmpty()) {
+            for (Annotation annotation : pending.poll().getAnnotations()) {
+                final Class<? extends Annotation> type = annotation.annotationType();
+                if (!type.getPackageName().equals("java.lang.annotation") && visited.add(type)) {
+                    composedAnnotations.add(annotation);
+                    pending.add(type);
+                }
             }
         }
-        return null;
+        return List.copyOf(composedAnnotations);
     }
 
+    /**
+     * validation annotation type bound to the field handed to its handler
+     *
+     * @param annotationType validation annotation type
+     * @param field          field carrying the validation annotation, synthetic for parameters and composed annotations
+     * @param constraints    all validation annotations of the element
+     */
+    public record Binding(Class<? extends Annotation> annotationType, Field field, List<Annotation> constraints) {
+
+        public Binding(Class<? extends Annotation> annotationType, Field field) {
+            this(annotationType, field, List.of());
+        }
+    }
 }
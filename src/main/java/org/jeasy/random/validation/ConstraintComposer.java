@@ -0,0 +1,351 @@
+package org.jeasy.random.validation;
+
+import org.jeasy.random.EasyRandomParameters;
+import org.jeasy.random.ObjectCreationException;
+import org.jeasy.random.RandomSource;
+import org.jeasy.random.api.Randomizer;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Composition of all the constraints of an element into one randomizer generating values that satisfy them all:
+ * numeric constraints (@Min, @Max, @DecimalMin, @DecimalMax, @Positive, @Negative..., @Range) are intersected
+ * into one range, string constraints are applied to the generator of the content constraint (@Pattern, @Email...)
+ * as length bounds, and the remaining checks are enforced with at most {@link #MAX_RETRIES} retries. Content
+ * constraints other than @Pattern and @Email can only be generated, not checked, so an element with two of them
+ * is not composed.
+ * <p>
+ * Constraints are recognized by annotation simple name and attributes, which are the same for javax, jakarta
+ * and hibernate validator constraints.
+ *
+ * @author linux_china
+ */
+final class ConstraintComposer {
+    /**
+     * max retries for checks not applied by generators, an {@link ObjectCreationException} is thrown when all fail
+     */
+    static final int MAX_RETRIES = 100;
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+");
+
+    private final BeanValidationRandomizerHandlers handlers;
+    private final EasyRandomParameters parameters;
+
+    ConstraintComposer(BeanValidationRandomizerHandlers handlers, EasyRandomParameters parameters) {
+        this.handlers = handlers;
+        this.parameters = parameters;
+    }
+
+    /**
+     * compose the constraints of a field
+     *
+     * @param field       field, its type is the generated type
+     * @param constraints constraint annotations
+     * @return randomizer drawing from the source of the generating thread, null if the constraints can not be composed
+     */
+    Randomizer<?> compose(Field field, List<Annotation> constraints) {
+        final Class<?> type = field.getType();
+        if (type == String.class || type == CharSequence.class) {
+            return composeString(field, constraints);
+        }
+        return composeNumber(field, constraints);
+    }
+
+    /**
+     * compose the numeric constraints of a field, also used by the handlers of single numeric constraints
+     *
+     * @param field       field, its type is the generated type
+     * @param constraints numeric constraint annotations
+     * @return randomizer drawing from the source of the generating thread, null if the field is not a number or the
+     * constraints are not numeric or have no value in common
+     */
+    static Randomizer<?> composeNumber(Field field, List<Annotation> constraints) {
+        final Class<?> type = field.getType();
+        if (isIntegral(type)) {
+            return composeIntegral(type, constraints);
+        }
+        if (isDecimal(type)) {
+            return composeDecimal(field, constraints);
+        }
+        return null;
+    }
+
+    private Randomizer<?> composeString(Field field, List<Annotation> constraints) {
+        int minLength = 0;
+        int maxLength = Integer.MAX_VALUE;
+        boolean notBlank = false;
+        boolean email = false;
+        final List<String> regexes = new ArrayList<>();
+        // content constraints generated by their handler, without a check of their own
+        final List<Annotation> contents = new ArrayList<>();
+        Annotation emailConstraint = null;
+        for (Annotation constraint : constraints) {
+            switch (constraint.annotationType().getSimpleName()) {
+                case "Size", "Length" -> {
+                    minLength = Math.max(minLength, attribute(constraint, "min", Integer.class));
+                    maxLength = Math.min(maxLength, attribute(constraint, "max", Integer.class));
+                }
+                case "NotBlank" -> {
+                    notBlank = true;
+                    minLength = Math.max(minLength, 1);
+                }
+                case "Pattern" -> regexes.add(attribute(constraint, "regexp", String.class));
+                case "Email" -> {
+                    email = true;
+                    final String regex = attribute(constraint, "regexp", String.class);
+                    if (!regex.equals(".*")) {
+                        regexes.add(regex);
+                    }
+                    emailConstraint = constraint;
+                }
+                case "Null", "AssertTrue", "AssertFalse" -> {
+                    return null;
+                }
+                default -> contents.add(constraint);
+            }
+        }
+        if (minLength > maxLength || contents.size() > 1) {
+            return null;
+        }
+        final Randomizer<?> generator;
+        // regexes checked after generation, all of them unless the generator follows the first one
+        List<String> checkedRegexes = regexes;
+        if (!contents.isEmpty()) {
+            generator = handlers.getRandomizer(field, contents.get(0));
+        } else if (!regexes.isEmpty()) {
+            generator = RegexGenerators.randomizer(regexes.get(0), minLength, maxLength);
+            checkedRegexes = regexes.subList(1, regexes.size());
+        } else if (emailConstraint != null) {
+            generator = handlers.getRandomizer(field, emailConstraint);
+        } else {
+            generator = RandomSource.strings(parameters.getCharset(), minLength, SizeRangeEngines.maxSize(minLength, maxLength));
+        }
+        if (generator == null) {
+            return null;
+        }
+        // checks not applied by the generator
+        final int min = minLength;
+        final int max = maxLength;
+        Predicate<String> check = value -> value.length() >= min && value.length() <= max;
+        if (notBlank) {
+            check = check.and(value -> !value.isBlank());
+        }
+        if (email) {
+            check = check.and(value -> EMAIL.matcher(value).matches());
+        }
+        for (String regex : checkedRegexes) {
+            final Pattern pattern = Pattern.compile(regex);
+            check = check.and(value -> pattern.matcher(value).matches());
+        }
+        return retrying(field, constraints, generator, check);
+    }
+
+    private static Randomizer<?> composeIntegral(Class<?> type, List<Annotation> constraints) {
+        final Range range = range(constraints);
+        if (range == null) {
+            return null;
+        }
+        long lower = minValue(type);
+        long upper = maxValue(type);
+        if (range.lower != null) {
+            final BigDecimal bound = range.lowerInclusive
+                    ? range.lower.setScale(0, RoundingMode.CEILING)
+                    : range.lower.setScale(0, RoundingMode.FLOOR).add(BigDecimal.ONE);
+            lower = bound.max(BigDecimal.valueOf(lower)).min(BigDecimal.valueOf(upper).add(BigDecimal.ONE)).longValue();
+        }
+        if (range.upper != null) {
+            final BigDecimal bound = range.upperInclusive
+                    ? range.upper.setScale(0, RoundingMode.FLOOR)
+                    : range.upper.setScale(0, RoundingMode.CEILING).subtract(BigDecimal.ONE);
+            upper = bound.min(BigDecimal.valueOf(upper)).max(BigDecimal.valueOf(minValue(type)).subtract(BigDecimal.ONE)).longValue();
+        }
+        if (lower > upper) {
+            return null;
+        }
+        final long origin = lower;
+        final long bound = upper;
+        return () -> {
+            final SplittableRandom random = RandomSource.current();
+            final long value;
+            if (bound < Long.MAX_VALUE) {
+                value = random.nextLong(origin, bound + 1);
+            } else if (origin > Long.MIN_VALUE) {
+                value = random.nextLong(origin - 1, bound) + 1;
+            } else {
+                value = random.nextLong();
+            }
+            return integral(type, value);
+        };
+    }
+
+    private static Randomizer<?> composeDecimal(Field field, List<Annotation> constraints) {
+        final Class<?> type = field.getType();
+        final Range range = range(constraints);
+        if (range == null) {
+            return null;
+        }
+        final double typeMax = type == float.class || type == Float.class ? Float.MAX_VALUE : Double.MAX_VALUE;
+        final double lower = range.lower != null ? Math.max(range.lower.doubleValue(), -typeMax) : -typeMax;
+        final double upper = range.upper != null ? Math.min(range.upper.doubleValue(), typeMax) : typeMax;
+        final boolean lowerInclusive = range.lower == null || range.lowerInclusive;
+        final boolean upperInclusive = range.upper == null || range.upperInclusive;
+        if (lower > upper || (lower == upper && !(lowerInclusive && upperInclusive))) {
+            return null;
+        }
+        final Predicate<Double> inRange = value -> (lowerInclusive ? value >= lower : value > lower)
+                && (upperInclusive ? value <= upper : value < upper);
+        return () -> {
+            final SplittableRandom random = RandomSource.current();
+            final double value = retry(field, constraints, () -> Double.isInfinite(upper - lower)
+                    ? (lower / 2 + random.nextDouble() * (upper / 2 - lower / 2)) * 2
+                    : lower + random.nextDouble() * (upper - lower), inRange);
+            if (type == float.class || type == Float.class) {
+                return (float) value;
+            } else if (type == BigDecimal.class) {
+                return BigDecimal.valueOf(value);
+            }
+            return value;
+        };
+    }
+
+    /**
+     * intersect numeric constraints
+     *
+     * @return range, null if a constraint is not numeric
+     */
+    private static Range range(List<Annotation> constraints) {
+        final Range range = new Range();
+        for (Annotation constraint : constraints) {
+            switch (constraint.annotationType().getSimpleName()) {
+                case "Min" -> range.lower(BigDecimal.valueOf(attribute(constraint, "value", Long.class)), true);
+                case "Max" -> range.upper(BigDecimal.valueOf(attribute(constraint, "value", Long.class)), true);
+                case "DecimalMin" -> range.lower(new BigDecimal(attribute(constraint, "value", String.class)),
+                        attribute(constraint, "inclusive", Boolean.class));
+                case "DecimalMax" -> range.upper(new BigDecimal(attribute(constraint, "value", String.class)),
+                        attribute(constraint, "inclusive", Boolean.class));
+                case "Positive" -> range.lower(BigDecimal.ZERO, false);
+                case "PositiveOrZero" -> range.lower(BigDecimal.ZERO, true);
+                case "Negative" -> range.upper(BigDecimal.ZERO, false);
+                case "NegativeOrZero" -> range.upper(BigDecimal.ZERO, true);
+                case "Range" -> {
+                    range.lower(BigDecimal.valueOf(attribute(constraint, "min", Long.class)), true);
+                    range.upper(BigDecimal.valueOf(attribute(constraint, "max", Long.class)), true);
+                }
+                default -> {
+                    return null;
+                }
+            }
+        }
+        return range;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Randomizer<T> retrying(Field field, List<Annotation> constraints, Randomizer<?> generator, Predicate<T> check) {
+        return () -> retry(field, constraints, () -> (T) generator.getRandomValue(), check);
+    }
+
+    /**
+     * generate values until one passes the check
+     *
+     * @return first value passing the check
+     * @throws ObjectCreationException if no value passes the check after {@link #MAX_RETRIES} retries
+     */
+    private static <T> T retry(Field field, List<Annotation> constraints, Randomizer<T> generator, Predicate<T> check) {
+        for (int i = 0; i < MAX_RETRIES; i++) {
+            final T value = generator.getRandomValue();
+            if (value != null && check.test(value)) {
+                return value;
+            }
+        }
+        throw new ObjectCreationException("Unable to generate a value of " + field.getName() + " satisfying "
+                + constraints + " after " + MAX_RETRIES + " retries");
+    }
+
+    private static <T> T attribute(Annotation annotation, String name, Class<T> type) {
+        try {
+            return type.cast(annotation.annotationType().getMethod(name).invoke(annotation));
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to read " + name + " of " + annotation, e);
+        }
+    }
+
+    private static boolean isIntegral(Class<?> type) {
+        return type == int.class || type == Integer.class || type == long.class || type == Long.class
+                || type == short.class || type == Short.class || type == byte.class || type == Byte.class
+                || type == BigInteger.class;
+    }
+
+    private static boolean isDecimal(Class<?> type) {
+        return type == double.class || type == Double.class || type == float.class || type == Float.class
+                || type == BigDecimal.class;
+    }
+
+    private static long minValue(Class<?> type) {
+        if (type == int.class || type == Integer.class) {
+            return Integer.MIN_VALUE;
+        } else if (type == short.class || type == Short.class) {
+            return Short.MIN_VALUE;
+        } else if (type == byte.class || type == Byte.class) {
+            return Byte.MIN_VALUE;
+        }
+        return Long.MIN_VALUE;
+    }
+
+    private static long maxValue(Class<?> type) {
+        if (type == int.class || type == Integer.class) {
+            return Integer.MAX_VALUE;
+        } else if (type == short.class || type == Short.class) {
+            return Short.MAX_VALUE;
+        } else if (type == byte.class || type == Byte.class) {
+            return Byte.MAX_VALUE;
+        }
+        return Long.MAX_VALUE;
+    }
+
+    private static Object integral(Class<?> type, long value) {
+        if (type == int.class || type == Integer.class) {
+            return (int) value;
+        } else if (type == short.class || type == Short.class) {
+            return (short) value;
+        } else if (type == byte.class || type == Byte.class) {
+            return (byte) value;
+        } else if (type == BigInteger.class) {
+            return BigInteger.valueOf(value);
+        }
+        return value;
+    }
+
+    /**
+     * numeric range, null bounds are unbounded
+     */
+    private static final class Range {
+        private BigDecimal lower;
+        private boolean lowerInclusive = true;
+        private BigDecimal upper;
+        private boolean upperInclusive = true;
+
+        void lower(BigDecimal value, boolean inclusive) {
+            final int cmp = lower == null ? 1 : value.compareTo(lower);
+            if (cmp > 0 || (cmp == 0 && !inclusive)) {
+                lower = value;
+                lowerInclusive = inclusive;
+            }
+        }
+
+        void upper(BigDecimal value, boolean inclusive) {
+            final int cmp = upper == null ? -1 : value.compareTo(upper);
+            if (cmp < 0 || (cmp == 0 && !inclusive)) {
+                upper = value;
+                upperInclusive = inclusive;
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.jeasy.random.validation;
 
+import org.jeasy.random.RandomSource;
 import org.jeasy.random.api.Randomizer;
 
 import java.lang.reflect.Field;
@@ -8,8 +9,8 @@ import java.util.Random;
 public class CreditCardNumberAnnotationHandler implements BeanValidationAnnotationHandler {
     private final Random random;
 
-    public CreditCardNumberAnnotationHandler(long seed) {
-        this.random = new java.util.Random(seed);
+    public CreditCardNumberAnnotationHandler() {
+        this.random = RandomSource.random();
     }
 
     @Override
@@ -0,0 +1,27 @@
+package org.jeasy.random.validation;
+
+import com.github.javafaker.Faker;
+import org.jeasy.random.RandomSource;
+import org.jeasy.random.api.Randomizer;
+
+import java.lang.reflect.Field;
+import java.util.Locale;
+
+/**
+ * Handler of @Email: Faker email addresses, Faker is built once with the random drawing from the source of the
+ * generating thread.
+ *
+ * @author linux_china
+ */
+class EmailAddressAnnotationHandler implements BeanValidationAnnotationHandler {
+
+    @Override
+    public Randomizer<?> getRandomizer(Field field) {
+        final Faker faker = FakerHolder.FAKER;
+        return () -> faker.internet().emailAddress();
+    }
+
+    private static final class FakerHolder {
+        private static final Faker FAKER = new Faker(Locale.ENGLISH, RandomSource.random());
+    }
+}
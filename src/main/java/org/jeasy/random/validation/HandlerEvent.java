@@ -0,0 +1,63 @@
+package org.jeasy.random.validation;
+
+import jdk.jfr.*;
+import org.jeasy.random.internal.ThreadAllocations;
+
+/**
+ * JDK Flight Recorder event of a value generated by the randomizer of a bean validation handler for a constrained
+ * element. The randomizer itself is created once per element, as setup. When the event is not enabled, the cost is a
+ * disabled check per value.
+ *
+ * @author linux_china
+ */
+@Name("org.jeasy.random.ValidationHandler")
+@Label("Validation Handler")
+@Category("Easy Random")
+@Description("Value generation by a bean validation annotation handler")
+@StackTrace(false)
+final class HandlerEvent extends Event {
+    @Label("Element")
+    String element;
+    @Label("Target Type")
+    String targetType;
+    @Label("Annotation")
+    String annotation;
+    @Label("Handler")
+    String handler;
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+
+    /**
+     * begin the event
+     *
+     * @return allocated bytes of the current thread, -1 if the event is disabled
+     */
+    long beginHandler() {
+        if (!isEnabled()) {
+            return -1;
+        }
+        final long allocated = ThreadAllocations.allocatedBytes();
+        begin();
+        return allocated;
+    }
+
+    /**
+     * commit the event
+     *
+     * @param binding   binding
+     * @param handler   handler name, null if none
+     * @param allocated allocated bytes at begin
+     */
+    void commitHandler(BeanValidationRandomizerHandlers.Binding binding, String handler, long allocated) {
+        end();
+        if (shouldCommit()) {
+            this.element = binding.field().getName();
+            this.targetType = binding.field().getGenericType().getTypeName();
+            this.annotation = binding.annotationType().getName();
+            this.handler = handler;
+            this.allocatedBytes = ThreadAllocations.allocatedBytes() - allocated;
+            commit();
+        }
+    }
+}
@@ -25,20 +25,12 @@ package org.jeasy.random.validation;
 
 import jakarta.validation.constraints.Pattern;
 import org.jeasy.random.api.Randomizer;
-import org.jeasy.random.randomizers.RegularExpressionRandomizer;
 import org.jeasy.random.util.ReflectionUtils;
 
 import java.lang.reflect.Field;
-import java.util.Random;
 
 class JakartaPatternAnnotationHandler implements BeanValidationAnnotationHandler {
 
-    private final Random random;
-
-    JakartaPatternAnnotationHandler(long seed) {
-        random = new Random(seed);
-    }
-
     @Override
     public Randomizer<?> getRandomizer(Field field) {
         Class<?> fieldType = field.getType();
@@ -50,7 +42,7 @@ class JakartaPatternAnnotationHandler implements BeanValidationAnnotationHandler
             return null;
         }
         if (fieldType.equals(String.class)) {
-            return new RegularExpressionRandomizer(regex, random.nextLong());
+            return RegexGenerators.randomizer(regex);
         }
         return null;
     }
@@ -23,38 +23,27 @@
  */
 package org.jeasy.random.validation;
 
+import javax.validation.constraints.Pattern;
 import org.jeasy.random.api.Randomizer;
 import org.jeasy.random.util.ReflectionUtils;
 
-import jakarta.validation.constraints.Max;
-import jakarta.validation.constraints.Min;
-
 import java.lang.reflect.Field;
-import java.math.BigDecimal;
-
-class JakartaMinMaxAnnotationHandler extends AbstractNumberBaseAnnotationHandler {
 
-    JakartaMinMaxAnnotationHandler(long seed) {
-        super(seed);
-    }
+class JavaxPatternAnnotationHandler implements BeanValidationAnnotationHandler {
 
     @Override
     public Randomizer<?> getRandomizer(Field field) {
         Class<?> fieldType = field.getType();
-        Max maxAnnotation = ReflectionUtils
-                .getAnnotation(field, Max.class);
-        Min minAnnotation = ReflectionUtils
-                .getAnnotation(field, Min.class);
-        BigDecimal maxValue = null;
-        BigDecimal minValue = null;
+        Pattern patternAnnotation = ReflectionUtils
+                .getAnnotation(field, Pattern.class);
 
-        if (maxAnnotation != null) {
-            maxValue = new BigDecimal(maxAnnotation.value());
+        final String regex = patternAnnotation.regexp();
+        if (regex.isEmpty()) {
+            return null;
         }
-
-        if (minAnnotation != null) {
-            minValue = new BigDecimal(minAnnotation.value());
+        if (fieldType.equals(String.class)) {
+            return RegexGenerators.randomizer(regex);
         }
-        return getRandomizer(fieldType, minValue, maxValue);
+        return null;
     }
 }
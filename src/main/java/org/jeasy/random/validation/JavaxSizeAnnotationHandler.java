@@ -23,38 +23,22 @@
  */
 package org.jeasy.random.validation;
 
-import jakarta.validation.constraints.DecimalMax;
-import jakarta.validation.constraints.DecimalMin;
+import javax.validation.constraints.Size;
+import org.jeasy.random.EasyRandomParameters;
 import org.jeasy.random.api.Randomizer;
 import org.jeasy.random.util.ReflectionUtils;
 
 import java.lang.reflect.Field;
-import java.math.BigDecimal;
 
-public class JakartaDecimalMinMaxAnnotationHandler extends AbstractNumberBaseAnnotationHandler {
+public class JavaxSizeAnnotationHandler extends AbstractSizeAnnotationHandler {
 
-    JakartaDecimalMinMaxAnnotationHandler(long seed) {
-        super(seed);
+    public JavaxSizeAnnotationHandler(EasyRandomParameters parameters) {
+        super(parameters);
     }
 
     @Override
     public Randomizer<?> getRandomizer(Field field) {
-        Class<?> fieldType = field.getType();
-        DecimalMax decimalMaxAnnotation = ReflectionUtils
-                .getAnnotation(field, DecimalMax.class);
-        DecimalMin decimalMinAnnotation = ReflectionUtils
-                .getAnnotation(field, DecimalMin.class);
-
-        BigDecimal maxValue = null;
-        BigDecimal minValue = null;
-
-        if (decimalMaxAnnotation != null) {
-            maxValue = new BigDecimal(decimalMaxAnnotation.value());
-        }
-
-        if (decimalMinAnnotation != null) {
-            minValue = new BigDecimal(decimalMinAnnotation.value());
-        }
-        return getRandomizer(fieldType, minValue, maxValue);
+        Size annotation = ReflectionUtils.getAnnotation(field, Size.class);
+        return getRandomizer(field, annotation.min(), annotation.max());
     }
 }
@@ -0,0 +1,27 @@
+package org.jeasy.random.validation;
+
+import org.jeasy.random.EasyRandomParameters;
+import org.jeasy.random.RandomSource;
+import org.jeasy.random.api.Randomizer;
+
+import java.lang.reflect.Field;
+
+/**
+ * Handler of @NotBlank: strings of letters of the charset, with the string length range of the parameters and at
+ * least one letter, drawn from the source of the generating thread.
+ *
+ * @author linux_china
+ */
+class NotBlankStringAnnotationHandler implements BeanValidationAnnotationHandler {
+    private final Randomizer<String> strings;
+
+    NotBlankStringAnnotationHandler(EasyRandomParameters parameters) {
+        final int max = Math.max(1, parameters.getStringLengthRange().getMax());
+        this.strings = RandomSource.strings(parameters.getCharset(), Math.max(1, parameters.getStringLengthRange().getMin()), max);
+    }
+
+    @Override
+    public Randomizer<?> getRandomizer(Field field) {
+        return strings;
+    }
+}
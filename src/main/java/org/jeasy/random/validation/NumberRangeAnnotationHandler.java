@@ -0,0 +1,28 @@
+package org.jeasy.random.validation;
+
+import org.jeasy.random.api.Randomizer;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.List;
+
+/**
+ * Handler of a numeric constraint of javax or jakarta validation (@Min, @Max, @DecimalMin, @DecimalMax, @Positive,
+ * @PositiveOrZero, @Negative, @NegativeOrZero): numbers in the range of the constraint, see {@link ConstraintComposer},
+ * drawn from the source of the generating thread.
+ *
+ * @author linux_china
+ */
+class NumberRangeAnnotationHandler implements BeanValidationAnnotationHandler {
+    private final Class<? extends Annotation> annotationType;
+
+    NumberRangeAnnotationHandler(Class<? extends Annotation> annotationType) {
+        this.annotationType = annotationType;
+    }
+
+    @Override
+    public Randomizer<?> getRandomizer(Field field) {
+        final Annotation annotation = field.getAnnotation(annotationType);
+        return annotation != null ? ConstraintComposer.composeNumber(field, List.of(annotation)) : null;
+    }
+}
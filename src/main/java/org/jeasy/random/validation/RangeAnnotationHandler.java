@@ -24,11 +24,11 @@
 package org.jeasy.random.validation;
 
 import org.hibernate.validator.constraints.Range;
+import org.jeasy.random.RandomSource;
 import org.jeasy.random.api.Randomizer;
 import org.jeasy.random.util.ReflectionUtils;
 
 import java.lang.reflect.Field;
-import java.util.Random;
 
 public class RangeAnnotationHandler implements BeanValidationAnnotationHandler {
 
@@ -40,10 +40,9 @@ public class RangeAnnotationHandler implements BeanValidationAnnotationHandler {
 
         final long min = lengthAnnotation.min();
         final long max = lengthAnnotation.max() == Long.MAX_VALUE ? 255 : lengthAnnotation.max();
-        long value = new Random().nextLong(min, max);
         if (fieldType.equals(String.class)) {
-            return (Randomizer<Object>) () -> String.valueOf(value);
+            return (Randomizer<Object>) () -> String.valueOf(RandomSource.current().nextLong(min, max));
         }
-        return (Randomizer<Object>) () -> value;
+        return (Randomizer<Object>) () -> RandomSource.current().nextLong(min, max);
     }
 }
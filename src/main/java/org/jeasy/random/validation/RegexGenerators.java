@@ -0,0 +1,255 @@
+package org.jeasy.random.validation;
+
+import com.mifmif.common.regex.Generex;
+import dk.brics.automaton.Automaton;
+import dk.brics.automaton.BasicAutomata;
+import dk.brics.automaton.RegExp;
+import org.jeasy.random.RandomSource;
+import org.jeasy.random.api.Randomizer;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Random string generators for regular expressions, shared by the pattern based handlers (@Pattern, @ISBN, @EAN).
+ * <p>
+ * Simple regexes (literals, character classes, fixed or bounded quantifiers) are compiled to a {@link SimpleRegex}
+ * writing straight into a {@code char[]}, other regexes are compiled to an automaton, the expensive part of regex based
+ * generation. Compiled regexes are cached per JVM, keyed by regex, and at most {@link #MAX_GENERATORS} are kept,
+ * least recently used ones are evicted. They are only read after compilation, so they are shared by randomizers
+ * of all threads, while each randomizer has its own seeded random or draws from the source of the generating thread.
+ *
+ * @author linux_china
+ */
+public final class RegexGenerators {
+    /**
+     * max cached compiled regex
+     */
+    static final int MAX_GENERATORS = 256;
+    /**
+     * max length bound applied to automata, see {@link #randomizer(String, int, int)}
+     */
+    static final int MAX_BOUNDED_LENGTH = 1024;
+    private static final Map<String, String> PREDEFINED_CHARACTER_CLASSES = Map.of(
+            "\\\\d", "[0-9]", "\\\\D", "[^0-9]",
+            "\\\\s", "[ \t\n\f\r]", "\\\\S", "[^ \t\n\f\r]",
+            "\\\\w", "[a-zA-Z_0-9]", "\\\\W", "[^a-zA-Z_0-9]");
+    private static final Pattern QUOTED = Pattern.compile("\\\\Q(.*?)\\\\E");
+    private static final Pattern SPECIAL_CHARACTERS = Pattern.compile("[.^$*+?(){|\\[\\\\@]");
+    private static final Map<String, CompiledRegex> CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CompiledRegex> eldest) {
+            return size() > MAX_GENERATORS;
+        }
+    };
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+
+    private RegexGenerators() {
+    }
+
+    /**
+     * get a randomizer generating strings matching the regex, with the fast path for simple regexes
+     *
+     * @param regex regex, leading {@code ^} and trailing {@code $} are ignored
+     * @param seed  seed
+     * @return randomizer
+     */
+    public static Randomizer<String> randomizer(String regex, long seed) {
+        final CompiledRegex compiledRegex = getCompiledRegex(regex);
+        if (compiledRegex.simple() != null) {
+            return compiledRegex.simple().randomizer(seed);
+        }
+        return automatonRandomizer(compiledRegex.automaton(), new Random(seed));
+    }
+
+    /**
+     * get a randomizer generating strings matching the regex, drawing from the source of the generating thread,
+     * see {@link RandomSource}
+     *
+     * @param regex regex, leading {@code ^} and trailing {@code $} are ignored
+     * @return randomizer
+     */
+    public static Randomizer<String> randomizer(String regex) {
+        final CompiledRegex compiledRegex = getCompiledRegex(regex);
+        if (compiledRegex.simple() != null) {
+            return compiledRegex.simple().randomizer();
+        }
+        return automatonRandomizer(compiledRegex.automaton(), RandomSource.random());
+    }
+
+    /**
+     * get a randomizer generating strings matching the regex, with a length in range, drawing from the source of the
+     * generating thread. For regexes walked as automata, max lengths above {@link #MAX_BOUNDED_LENGTH} are not applied.
+     *
+     * @param regex     regex, leading {@code ^} and trailing {@code $} are ignored
+     * @param minLength min length
+     * @param maxLength max length
+     * @return randomizer, null if no string of the regex has a length in range
+     */
+    public static Randomizer<String> randomizer(String regex, int minLength, int maxLength) {
+        final CompiledRegex compiledRegex = getCompiledRegex(regex);
+        if (compiledRegex.simple() != null) {
+            return compiledRegex.simple().randomizer(minLength, maxLength);
+        }
+        final Automaton automaton = compiledRegex.automaton(minLength, maxLength);
+        return automaton != null ? automatonRandomizer(automaton, RandomSource.random()) : null;
+    }
+
+    /**
+     * get a randomizer walking the automaton of the regex, even for simple regexes
+     *
+     * @param regex regex, leading {@code ^} and trailing {@code $} are ignored
+     * @param seed  seed
+     * @return randomizer
+     */
+    public static Randomizer<String> automatonRandomizer(String regex, long seed) {
+        return automatonRandomizer(getCompiledRegex(regex).automaton(), new Random(seed));
+    }
+
+    /**
+     * is the regex generated by the fast path
+     *
+     * @param regex regex
+     * @return simple regex or not
+     */
+    public static boolean isSimple(String regex) {
+        return getCompiledRegex(regex).simple() != null;
+    }
+
+    private static Randomizer<String> automatonRandomizer(Automaton automaton, Random random) {
+        final Generex generex = new Generex(automaton, random);
+        return generex::random;
+    }
+
+    /**
+     * count of randomizers created from a cached compiled regex since JVM start
+     *
+     * @return hit count
+     */
+    public static long hitCount() {
+        return HITS.get();
+    }
+
+    /**
+     * count of regex compilations since JVM start
+     *
+     * @return miss count
+     */
+    public static long missCount() {
+        return MISSES.get();
+    }
+
+    private static CompiledRegex getCompiledRegex(String regex) {
+        synchronized (CACHE) {
+            final CompiledRegex compiledRegex = CACHE.get(regex);
+            if (compiledRegex != null) {
+                HITS.incrementAndGet();
+                return compiledRegex;
+            }
+        }
+        MISSES.incrementAndGet();
+        // compile outside the lock, a concurrent duplicate is harmless and the first one wins
+        final CompiledRegex compiledRegex = new CompiledRegex(regex);
+        synchronized (CACHE) {
+            final CompiledRegex existing = CACHE.putIfAbsent(regex, compiledRegex);
+            return existing != null ? existing : compiledRegex;
+        }
+    }
+
+    /**
+     * compile a regex the way Generex does, see {@code com.mifmif.common.regex.Generex#Generex(String)}
+     *
+     * @param regex regex
+     * @return automaton, expanded so that it is never modified by generation
+     */
+    private static Automaton compile(String regex) {
+        String finalRegex = requote(regex);
+        for (Map.Entry<String, String> charClass : PREDEFINED_CHARACTER_CLASSES.entrySet()) {
+            finalRegex = finalRegex.replaceAll(charClass.getKey(), charClass.getValue());
+        }
+        final Automaton automaton = new RegExp(finalRegex).toAutomaton();
+        automaton.expandSingleton();
+        return automaton;
+    }
+
+    private static String requote(String regex) {
+        final StringBuilder sb = new StringBuilder(regex);
+        Matcher matcher = QUOTED.matcher(sb);
+        while (matcher.find()) {
+            sb.replace(matcher.start(), matcher.end(), SPECIAL_CHARACTERS.matcher(matcher.group(1)).replaceAll("\\\\$0"));
+            matcher = QUOTED.matcher(sb);
+        }
+        return sb.toString();
+    }
+
+    private static String stripBoundaryMatchers(String regex) {
+        String finalRegex = regex;
+        if (finalRegex.startsWith("^")) {
+            finalRegex = finalRegex.substring(1);
+        }
+        if (finalRegex.endsWith("$")) {
+            finalRegex = finalRegex.substring(0, finalRegex.length() - 1);
+        }
+        return finalRegex;
+    }
+
+    /**
+     * compiled regex: simple regex if supported, automaton compiled on first use otherwise
+     */
+    private static final class CompiledRegex {
+        private final String regex;
+        private final SimpleRegex simple;
+        private volatile Automaton automaton;
+        /**
+         * automata of the regex intersected with length ranges, empty if no string in range
+         */
+        private final Map<Long, Optional<Automaton>> lengthBoundedAutomata = new HashMap<>();
+
+        CompiledRegex(String regex) {
+            this.regex = stripBoundaryMatchers(regex);
+            this.simple = SimpleRegex.parse(this.regex);
+            if (simple == null) {
+                this.automaton = compile(this.regex);
+            }
+        }
+
+        SimpleRegex simple() {
+            return simple;
+        }
+
+        Automaton automaton() {
+            if (automaton == null) {
+                synchronized (this) {
+                    if (automaton == null) {
+                        automaton = compile(regex);
+                    }
+                }
+            }
+            return automaton;
+        }
+
+        synchronized Automaton automaton(int minLength, int maxLength) {
+            final long key = ((long) minLength << 32) | (maxLength & 0xffffffffL);
+            return lengthBoundedAutomata.computeIfAbsent(key, ignore -> {
+                // a long chain of length states is not worth it, long max lengths are left to the caller
+                final Automaton lengths = maxLength > MAX_BOUNDED_LENGTH
+                        ? BasicAutomata.makeAnyChar().repeat(minLength)
+                        : BasicAutomata.makeAnyChar().repeat(minLength, maxLength);
+                final Automaton lengthBounded = automaton().intersection(lengths);
+                lengthBounded.removeDeadTransitions();
+                if (lengthBounded.isEmpty()) {
+                    return Optional.empty();
+                }
+                lengthBounded.expandSingleton();
+                return Optional.of(lengthBounded);
+            }).orElse(null);
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package org.jeasy.random.validation;
+
+import org.jeasy.random.RandomSource;
+import org.jeasy.random.api.Randomizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Flat generator for simple regexes: a sequence of literals, character classes ({@code [a-z0-9_]}, {@code \d},
+ * {@code \w}, {@code \s}) and fixed or bounded quantifiers ({@code ?}, {@code {n}}, {@code {n,m}}).
+ * Strings are written straight into a {@code char[]}, without walking an automaton.
+ * Groups, alternations, unbounded quantifiers and negated classes are not supported, see {@link #parse(String)}.
+ *
+ * @author linux_china
+ */
+final class SimpleRegex {
+    /**
+     * max characters of a character class
+     */
+    static final int MAX_CLASS_SIZE = 1024;
+    /**
+     * max length of generated strings
+     */
+    static final int MAX_LENGTH = 4096;
+    private static final char[] DIGITS = chars("0-9");
+    private static final char[] WORDS = chars("a-zA-Z_0-9");
+    private static final char[] SPACES = {' ', '\t', '\n', '\f', '\r'};
+
+    /**
+     * choices of each atom, the characters of a literal atom
+     */
+    private final char[][] choices;
+    private final boolean[] literals;
+    private final int[] mins;
+    private final int[] maxs;
+    private final int maxLength;
+
+    private SimpleRegex(List<Atom> atoms) {
+        final int size = atoms.size();
+        this.choices = new char[size][];
+        this.literals = new boolean[size];
+        this.mins = new int[size];
+        this.maxs = new int[size];
+        int length = 0;
+        for (int i = 0; i < size; i++) {
+            final Atom atom = atoms.get(i);
+            choices[i] = atom.choices();
+            literals[i] = atom.literal();
+            mins[i] = atom.min();
+            maxs[i] = atom.max();
+            length += atom.literal() ? atom.choices().length : atom.max();
+        }
+        this.maxLength = length;
+    }
+
+    /**
+     * parse a regex, without leading {@code ^} and trailing {@code $}
+     *
+     * @param regex regex
+     * @return simple regex, null if the regex is not in the supported subset
+     */
+    static SimpleRegex parse(String regex) {
+        final List<Atom> atoms = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder();
+        int length = 0;
+        int pos = 0;
+        while (pos < regex.length()) {
+            char[] choices;
+            final char c = regex.charAt(pos);
+            if (c == '[') {
+                final int end = classEnd(regex, pos + 1);
+                if (end < 0) {
+                    return null;
+                }
+                choices = charClass(regex.substring(pos + 1, end));
+                pos = end + 1;
+            } else if (c == '\\') {
+                if (pos + 1 >= regex.length()) {
+                    return null;
+                }
+                choices = escape(regex.charAt(pos + 1));
+                pos += 2;
+            } else if (".()|*+?{}[]^$".indexOf(c) >= 0 || Character.isSurrogate(c)) {
+                return null;
+            } else {
+                choices = new char[]{c};
+                pos++;
+            }
+            if (choices == null || choices.length == 0) {
+                return null;
+            }
+            // quantifier
+            int min = 1;
+            int max = 1;
+            if (pos < regex.length()) {
+                final char q = regex.charAt(pos);
+                if (q == '?') {
+                    min = 0;
+                    pos++;
+                } else if (q == '{') {
+                    final int end = regex.indexOf('}', pos);
+                    if (end < 0) {
+                        return null;
+                    }
+                    final String[] bounds = regex.substring(pos + 1, end).split(",", -1);
+                    try {
+                        min = Integer.parseInt(bounds[0]);
+                        max = bounds.length == 1 ? min : bounds.length == 2 ? Integer.parseInt(bounds[1]) : -1;
+                    } catch (NumberFormatException e) {
+                        return null;
+                    }
+                    if (min < 0 || max < min) {
+                        return null;
+                    }
+                    pos = end + 1;
+                } else if (q == '*' || q == '+') {
+                    return null;
+                }
+                // lazy and possessive quantifiers
+                if (pos < regex.length() && (min != 1 || max != 1) && "?+".indexOf(regex.charAt(pos)) >= 0) {
+                    return null;
+                }
+            }
+            length += max;
+            if (length > MAX_LENGTH) {
+                return null;
+            }
+            if (choices.length == 1 && min == 1 && max == 1) {
+                literal.append(choices[0]);
+            } else {
+                if (!literal.isEmpty()) {
+                    atoms.add(new Atom(literal.toString().toCharArray(), true, 1, 1));
+                    literal.setLength(0);
+                }
+                atoms.add(new Atom(choices, false, min, max));
+            }
+        }
+        if (!literal.isEmpty()) {
+            atoms.add(new Atom(literal.toString().toCharArray(), true, 1, 1));
+        }
+        return new SimpleRegex(atoms);
+    }
+
+    /**
+     * generate a string
+     *
+     * @param random random
+     * @return string matching the regex
+     */
+    String generate(SplittableRandom random) {
+        final char[] buffer = new char[maxLength];
+        int length = 0;
+        for (int i = 0; i < choices.length; i++) {
+            final char[] atomChoices = choices[i];
+            if (literals[i]) {
+                System.arraycopy(atomChoices, 0, buffer, length, atomChoices.length);
+                length += atomChoices.length;
+                continue;
+            }
+            final int count = mins[i] == maxs[i] ? mins[i] : mins[i] + random.nextInt(maxs[i] - mins[i] + 1);
+            if (atomChoices.length == 1) {
+                Arrays.fill(buffer, length, length + count, atomChoices[0]);
+                length += count;
+            } else {
+                for (int j = 0; j < count; j++) {
+                    buffer[length++] = atomChoices[random.nextInt(atomChoices.length)];
+                }
+            }
+        }
+        return new String(buffer, 0, length);
+    }
+
+    /**
+     * generate a string with a length in range: the length is drawn first, then spread over the quantifiers
+     *
+     * @param random    random
+     * @param minLength min length, not below the min length of the regex
+     * @param maxLength max length, not above the max length of the regex
+     * @return string matching the regex
+     */
+    String generate(SplittableRandom random, int minLength, int maxLength) {
+        final int[] counts = mins.clone();
+        int extra = minLength + random.nextInt(maxLength - minLength + 1) - minLength();
+        final int[] open = new int[counts.length];
+        int openCount = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (!literals[i] && maxs[i] > mins[i]) {
+                open[openCount++] = i;
+            }
+        }
+        while (extra > 0) {
+            final int slot = random.nextInt(openCount);
+            final int atom = open[slot];
+            counts[atom]++;
+            extra--;
+            if (counts[atom] == maxs[atom]) {
+                open[slot] = open[--openCount];
+            }
+        }
+        final char[] buffer = new char[maxLength];
+        int length = 0;
+        for (int i = 0; i < choices.length; i++) {
+            final char[] atomChoices = choices[i];
+            if (literals[i]) {
+                System.arraycopy(atomChoices, 0, buffer, length, atomChoices.length);
+                length += atomChoices.length;
+            } else {
+                for (int j = 0; j < counts[i]; j++) {
+                    buffer[length++] = atomChoices.length == 1 ? atomChoices[0] : atomChoices[random.nextInt(atomChoices.length)];
+                }
+            }
+        }
+        return new String(buffer, 0, length);
+    }
+
+    /**
+     * randomizer with its own seeded random
+     *
+     * @param seed seed
+     * @return randomizer
+     */
+    Randomizer<String> randomizer(long seed) {
+        final SplittableRandom random = new SplittableRandom(seed);
+        return () -> generate(random);
+    }
+
+    /**
+     * randomizer drawing from the source of the generating thread
+     *
+     * @return randomizer
+     */
+    Randomizer<String> randomizer() {
+        return () -> generate(RandomSource.current());
+    }
+
+    /**
+     * randomizer of strings with a length in range, drawing from the source of the generating thread
+     *
+     * @param minLength min length
+     * @param maxLength max length
+     * @return randomizer, null if no string of the regex has a length in range
+     */
+    Randomizer<String> randomizer(int minLength, int maxLength) {
+        final int min = Math.max(minLength, minLength());
+        final int max = Math.min(maxLength, this.maxLength);
+        if (min > max) {
+            return null;
+        }
+        return () -> generate(RandomSource.current(), min, max);
+    }
+
+    private int minLength() {
+        int length = 0;
+        for (int i = 0; i < choices.length; i++) {
+            length += literals[i] ? choices[i].length : mins[i];
+        }
+        return length;
+    }
+
+    private static int classEnd(String regex, int from) {
+        for (int i = from; i < regex.length(); i++) {
+            final char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == ']' && i > from) {
+                return i;
+            } else if (c == '[') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static char[] charClass(String body) {
+        if (body.startsWith("^") || body.contains("&&")) {
+            return null;
+        }
+        final StringBuilder chars = new StringBuilder();
+        int i = 0;
+        while (i < body.length()) {
+            char c = body.charAt(i);
+            if (c == '\\') {
+                if (i + 1 >= body.length()) {
+                    return null;
+                }
+                final char[] escaped = escape(body.charAt(i + 1));
+                if (escaped == null) {
+                    return null;
+                }
+                i += 2;
+                if (escaped.length > 1) {
+                    chars.append(escaped);
+                    continue;
+                }
+                c = escaped[0];
+            } else {
+                i++;
+            }
+            if (Character.isSurrogate(c)) {
+                return null;
+            }
+            // range
+            if (i + 1 < body.length() && body.charAt(i) == '-') {
+                char to = body.charAt(i + 1);
+                int next = i + 2;
+                if (to == '\\') {
+                    if (i + 2 >= body.length()) {
+                        return null;
+                    }
+                    final char[] escaped = escape(body.charAt(i + 2));
+                    if (escaped == null || escaped.length > 1) {
+                        return null;
+                    }
+                    to = escaped[0];
+                    next = i + 3;
+                }
+                if (to < c || Character.isSurrogate(to) || chars.length() + (to - c) >= MAX_CLASS_SIZE) {
+                    return null;
+                }
+                for (char r = c; r <= to; r++) {
+                    chars.append(r);
+                }
+                i = next;
+            } else {
+                chars.append(c);
+            }
+        }
+        // duplicated characters would be more likely
+        return chars.chars().distinct().collect(StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append)
+                .toString().toCharArray();
+    }
+
+    private static char[] escape(char c) {
+        return switch (c) {
+            case 'd' -> DIGITS;
+            case 'w' -> WORDS;
+            case 's' -> SPACES;
+            case 't' -> new char[]{'\t'};
+            case 'n' -> new char[]{'\n'};
+            case 'r' -> new char[]{'\r'};
+            case 'f' -> new char[]{'\f'};
+            default -> Character.isLetterOrDigit(c) ? null : new char[]{c};
+        };
+    }
+
+    private static char[] chars(String charClass) {
+        return charClass(charClass);
+    }
+
+    private record Atom(char[] choices, boolean literal, int min, int max) {
+    }
+}
@@ -0,0 +1,79 @@
+package org.jeasy.random.validation;
+
+import org.jeasy.random.EasyRandom;
+import org.jeasy.random.EasyRandomParameters;
+import org.jeasy.random.RandomSource;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sizing for size style constraints (@Size, @Length): sizes drawn from the source of the generating thread and
+ * easy random engines keyed by size range, used to generate the elements of constrained containers.
+ * <p>
+ * An engine costs a full easy random initialization, so engines are only created for ranges of containers
+ * with elements, and at most {@link #MAX_ENGINES} are kept, least recently used ones are evicted. Engines draw from
+ * the source of the generating thread, see {@link RandomSource}, so they hold no random state and are shared
+ * by all threads.
+ *
+ * @author linux_china
+ */
+final class SizeRangeEngines {
+    /**
+     * max cached engines per handler
+     */
+    static final int MAX_ENGINES = 8;
+    /**
+     * max size when the constraint has no upper bound
+     */
+    static final int DEFAULT_MAX_SIZE = 255;
+    private final EasyRandomParameters parameters;
+    private final Map<Range, EasyRandom> engines = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Range, EasyRandom> eldest) {
+            return size() > MAX_ENGINES;
+        }
+    };
+
+    SizeRangeEngines(EasyRandomParameters parameters) {
+        this.parameters = parameters;
+    }
+
+    /**
+     * max size of the constraint, {@link #DEFAULT_MAX_SIZE} if unbounded
+     *
+     * @param min constraint min
+     * @param max constraint max
+     * @return max size
+     */
+    static int maxSize(int min, int max) {
+        return max == Integer.MAX_VALUE ? Math.max(min, DEFAULT_MAX_SIZE) : max;
+    }
+
+    /**
+     * next size from the source of the generating thread
+     *
+     * @param min min size, inclusive
+     * @param max max size, inclusive
+     * @return random size
+     */
+    int nextSize(int min, int max) {
+        return min + RandomSource.current().nextInt(max - min + 1);
+    }
+
+    /**
+     * get the engine for a size range, created on first use with the range as collection size and string length range
+     *
+     * @param min min size
+     * @param max max size
+     * @return easy random engine
+     */
+    synchronized EasyRandom get(int min, int max) {
+        return engines.computeIfAbsent(new Range(min, max), range -> RandomSource.newEasyRandom(parameters.copy()
+                .collectionSizeRange(min, max)
+                .stringLengthRange(min, max)));
+    }
+
+    private record Range(int min, int max) {
+    }
+}
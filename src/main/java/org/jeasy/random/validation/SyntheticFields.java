@@ -0,0 +1,94 @@
+package org.jeasy.random.validation;
+
+import net.bytebuddy.ByteBuddy;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Synthetic fields carrying a validation annotation, used to feed {@link BeanValidationAnnotationHandler}s
+ * for elements that are not fields themselves (parameters, composed annotations).
+ * <p>
+ * Generated classes are cached per owner class, the declaring class of the constrained element, keyed by a
+ * description of the field name, generic type and annotation, so that a given constrained element only triggers
+ * bytecode generation once. The cache of an owner is a {@link ClassValue}: a generated class references the class
+ * loader of its owner, and class values do not keep that class loader reachable.
+ *
+ * @author linux_china
+ */
+public final class SyntheticFields {
+    /**
+     * max cached fields per owner class, least recently used entries are evicted
+     */
+    static final int MAX_FIELDS_PER_OWNER = 512;
+    private static final ClassValue<Map<String, Field>> CACHE = new ClassValue<>() {
+        @Override
+        protected Map<String, Field> computeValue(Class<?> owner) {
+            return new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Field> eldest) {
+                    return size() > MAX_FIELDS_PER_OWNER;
+                }
+            };
+        }
+    };
+    private static final AtomicLong GENERATED_CLASSES = new AtomicLong();
+
+    private SyntheticFields() {
+    }
+
+    /**
+     * get or generate a synthetic field, its class is loaded by a child of the owner's class loader
+     *
+     * @param owner      declaring class of the constrained element, its class loader is able to see the field type
+     *                   and the annotation type
+     * @param name       field name
+     * @param type       field generic type
+     * @param annotation annotation to put on the field
+     * @return synthetic field
+     */
+    public static Field get(Class<?> owner, String name, Type type, Annotation annotation) {
+        final String key = name + "\n" + type.getTypeName() + "\n" + annotation;
+        final Map<String, Field> fields = CACHE.get(owner);
+        synchronized (fields) {
+            final Field field = fields.get(key);
+            if (field != null) {
+                return field;
+            }
+        }
+        // generate outside the lock, a concurrent duplicate is harmless and the first one wins
+        final ClassLoader loader = owner.getClassLoader() != null ? owner.getClassLoader() : SyntheticFields.class.getClassLoader();
+        final Field field = generate(loader, name, type, annotation);
+        synchronized (fields) {
+            return fields.computeIfAbsent(key, ignore -> field);
+        }
+    }
+
+    /**
+     * count of synthetic classes generated since JVM start
+     *
+     * @return generated classes count
+     */
+    public static long generatedClassCount() {
+        return GENERATED_CLASSES.get();
+    }
+
+    private static Field generate(ClassLoader loader, String name, Type type, Annotation annotation) {
+        try {
+            final Class<?> clazz = new ByteBuddy()
+                    .subclass(Object.class)
+                    .defineField(name, type)
+                    .annotateField(annotation)
+                    .make()
+                    .load(loader)
+                    .getLoaded();
+            GENERATED_CLASSES.incrementAndGet();
+            return clazz.getDeclaredField(name);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to generate synthetic field " + name + " for " + annotation, e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.jeasy.random.validation;
+
+import org.jeasy.random.EasyRandom;
+import org.jeasy.random.EasyRandomParameters;
+import org.jeasy.random.RandomSource;
+import org.jeasy.random.api.Randomizer;
+
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.time.Period;
+
+/**
+ * Handler of a temporal constraint (@Future, @FutureOrPresent, @Past, @PastOrPresent): dates generated by an engine
+ * drawing from the source of the generating thread, with a date range relative to the day the engine is built.
+ *
+ * @author linux_china
+ */
+class TemporalRangeAnnotationHandler implements BeanValidationAnnotationHandler {
+    private final EasyRandomParameters parameters;
+    private final Period from;
+    private final Period to;
+    private EasyRandom easyRandom;
+
+    /**
+     * create handler
+     *
+     * @param parameters parameters
+     * @param from       start of the date range, relative to today
+     * @param to         end of the date range, relative to today
+     */
+    TemporalRangeAnnotationHandler(EasyRandomParameters parameters, Period from, Period to) {
+        this.parameters = parameters;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public Randomizer<?> getRandomizer(Field field) {
+        final EasyRandom engine = getEasyRandom();
+        final Class<?> fieldType = field.getType();
+        return () -> engine.nextObject(fieldType);
+    }
+
+    private synchronized EasyRandom getEasyRandom() {
+        if (easyRandom == null) {
+            final LocalDate today = LocalDate.now();
+            easyRandom = RandomSource.newEasyRandom(parameters.copy().dateRange(today.plus(from), today.plus(to)));
+        }
+        return easyRandom;
+    }
+}
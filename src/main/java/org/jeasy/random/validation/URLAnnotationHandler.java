@@ -1,21 +1,23 @@
 package org.jeasy.random.validation;
 
-import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.hibernate.validator.constraints.URL;
+import org.jeasy.random.RandomSource;
 import org.jeasy.random.api.Randomizer;
 
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
 
 public class URLAnnotationHandler implements BeanValidationAnnotationHandler {
     @Override
     public Randomizer<?> getRandomizer(Field field) {
         final URL urlAnnotation = field.getAnnotation(URL.class);
+        final Randomizer<String> paths = RandomSource.strings(StandardCharsets.US_ASCII, 10, 10);
         return (Randomizer<Object>) () -> {
             String protocol = StringUtils.defaultIfEmpty(urlAnnotation.protocol(), "http");
             String host = StringUtils.defaultIfEmpty(urlAnnotation.host(), "www.example.com");
             String portString = urlAnnotation.port() == -1 ? "" : ":" + urlAnnotation.port();
-            String path = "/" + RandomStringUtils.randomAlphabetic(10);
+            String path = "/" + paths.getRandomValue();
             return protocol + "://" + host + portString + path;
         };
     }
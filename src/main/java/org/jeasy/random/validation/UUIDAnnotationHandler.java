@@ -1,14 +1,24 @@
 package org.jeasy.random.validation;
 
+import org.jeasy.random.RandomSource;
 import org.jeasy.random.api.Randomizer;
 
 import java.lang.reflect.Field;
+import java.util.SplittableRandom;
 import java.util.UUID;
 
 public class UUIDAnnotationHandler implements BeanValidationAnnotationHandler {
 
+    /**
+     * version 4 UUIDs drawn from the source of the generating thread
+     */
     @Override
     public Randomizer<?> getRandomizer(Field field) {
-        return (Randomizer<Object>) () -> UUID.randomUUID().toString();
+        return (Randomizer<Object>) () -> {
+            final SplittableRandom source = RandomSource.current();
+            final long mostSigBits = source.nextLong() & ~0xf000L | 0x4000L;
+            final long leastSigBits = source.nextLong() & ~(0x3L << 62) | (0x2L << 62);
+            return new UUID(mostSigBits, leastSigBits).toString();
+        };
     }
 }
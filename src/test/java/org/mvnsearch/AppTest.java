@@ -7,11 +7,16 @@ import jakarta.validation.constraints.Email;
 import net.datafaker.providers.base.Dog;
 import org.jeasy.random.EasyRandomExtension;
 import org.jeasy.random.Random;
+import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
 import javax.validation.constraints.Pattern;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -34,6 +39,21 @@ public class AppTest {
         System.out.println(phone);
     }
 
+    @RepeatedTest(5)
+    public void testRepeatedPhone(@Random @Phone String phone) {
+        assertThat(phone).matches("^1[3-9]\\d{9}$");
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Phone
+    @interface MobilePhone {
+    }
+
+    @Test
+    public void testNestedComposedAnnotation(@Random @MobilePhone String phone) {
+        assertThat(phone).matches("^1[3-9]\\d{9}$");
+    }
+
     @Test
     public void testAddress(@Random(locale = "zh_CN") Address address) {
         System.out.println(address.cityName());
@@ -60,6 +80,31 @@ public class AppTest {
         assertThat(users).hasSize(5);
     }
 
+    @Test
+    public void testLargeAccountList(@Random(size = 50_000) List<Account> accounts) {
+        assertThat(accounts).hasSize(50_000).doesNotContainNull();
+    }
+
+    @Test
+    public void testRandomAccountArray(@Random(size = 3) Account[] accounts) {
+        assertThat(accounts).hasSize(3).doesNotContainNull();
+    }
+
+    @Test
+    public void testRandomAccountStream(@Random(size = 3) Stream<Account> accounts) {
+        assertThat(accounts).hasSize(3).doesNotContainNull();
+    }
+
+    @Test
+    public void testUnboundedAccountStream(@Random(unbounded = true) Stream<Account> accounts) {
+        assertThat(accounts.parallel().limit(100_000).filter(account -> account.getName() != null).count()).isEqualTo(100_000);
+    }
+
+    @Test
+    public void testUnboundedAccountStreamNotSized(@Random(unbounded = true) Stream<Account> accounts) {
+        assertThat(accounts.spliterator().hasCharacteristics(Spliterator.SIZED)).isFalse();
+    }
+
     @Test
     public void testRandomFullName(@Random @Pattern(regexp = "[A-Z][a-z]{6} [A-Z][a-z]{4}") String fullName) {
         assertThat(fullName).hasSize(13).contains(" ");
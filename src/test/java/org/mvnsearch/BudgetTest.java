@@ -0,0 +1,142 @@
+package org.mvnsearch;
+
+import com.github.javafaker.Address;
+import org.jeasy.random.EasyRandomExtension;
+import org.jeasy.random.EasyRandomParameters;
+import org.jeasy.random.Random;
+import org.jeasy.random.RandomBudget;
+import org.jeasy.random.RandomBudgetExceededException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.testkit.engine.EngineTestKit;
+import org.junit.platform.testkit.engine.Events;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.testkit.engine.EventConditions.*;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.instanceOf;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.message;
+
+public class BudgetTest {
+
+    @ExtendWith(EasyRandomExtension.class)
+    @RandomBudget(maxBytes = 1_000)
+    static class BudgetFixture {
+        @Test
+        public void overBudget(@Random(size = 10) List<Account> accounts) {
+        }
+
+        @Test
+        @RandomBudget(maxBytes = 1_000_000_000)
+        public void withinMethodBudget(@Random(size = 10) List<Account> accounts) {
+            assertThat(accounts).hasSize(10);
+        }
+    }
+
+    @ExtendWith(EasyRandomExtension.class)
+    @RandomBudget(maxBytes = 1_000, action = RandomBudget.Action.WARN)
+    static class WarningFixture {
+        @Random(size = 10)
+        private List<Account> accounts;
+
+        @Test
+        public void overBudget() {
+            assertThat(accounts).hasSize(10);
+        }
+    }
+
+    @ExtendWith(EasyRandomExtension.class)
+    @RandomBudget(maxBytes = 1_000, action = RandomBudget.Action.WARN)
+    static class SingleBudgetFixture {
+        @Random(size = 10)
+        private List<Account> accounts;
+
+        @Test
+        public void overBudget(@Random(size = 10) List<Account> accounts) {
+            assertThat(this.accounts).hasSize(10);
+        }
+    }
+
+    @ExtendWith(EasyRandomExtension.class)
+    static class ConfiguredFixture {
+        @Test
+        public void overBudget(@Random(size = 10) List<Account> accounts) {
+        }
+    }
+
+    @ExtendWith(EasyRandomExtension.class)
+    @RandomBudget(maxBytes = 12_000_000)
+    static class BulkFixture {
+        @Test
+        public void overBudget(@Random(size = 1 << 20) Long[] values) {
+        }
+    }
+
+    @RandomBudget(maxBytes = 1_000_000)
+    static class SetupFixture {
+        @RegisterExtension
+        static EasyRandomExtension extension = new EasyRandomExtension(EasyRandomParameters::new);
+
+        @Test
+        public void withinBudget(@Random Address address, @Random String text) {
+            assertThat(address.city()).isNotEmpty();
+        }
+    }
+
+    @Test
+    public void testFailOverBudget() {
+        final Events events = EngineTestKit.engine("junit-jupiter").selectors(selectClass(BudgetFixture.class)).execute().testEvents();
+        events.assertStatistics(stats -> stats.succeeded(1).failed(1));
+        events.assertThatEvents().haveExactly(1, event(test("overBudget"),
+                finishedWithFailure(instanceOf(ParameterResolutionException.class))));
+        assertThat(events.failed().stream()
+                .map(event -> event.getRequiredPayload(TestExecutionResult.class).getThrowable().orElseThrow().getCause()))
+                .singleElement().isInstanceOf(RandomBudgetExceededException.class)
+                .satisfies(cause -> assertThat(cause.getMessage()).contains("BudgetFixture.overBudget", "max 1000 bytes"));
+    }
+
+    @Test
+    public void testWarnOverBudget() {
+        final Events events = EngineTestKit.engine("junit-jupiter").selectors(selectClass(WarningFixture.class)).execute().allEvents();
+        events.assertStatistics(stats -> stats.failed(0));
+        assertThat(events.reportingEntryPublished().stream().map(event -> event.getRequiredPayload(ReportEntry.class)))
+                .anySatisfy(entry -> assertThat(entry.getKeyValuePairs().get("easy-random.budget"))
+                        .contains("fields of " + WarningFixture.class.getName(), "WarningFixture.accounts"));
+    }
+
+    @Test
+    public void testFieldsAndParametersShareBudget() {
+        final Events events = EngineTestKit.engine("junit-jupiter").selectors(selectClass(SingleBudgetFixture.class)).execute().allEvents();
+        events.assertStatistics(stats -> stats.failed(0));
+        assertThat(events.reportingEntryPublished().stream().map(event -> event.getRequiredPayload(ReportEntry.class))
+                .filter(entry -> entry.getKeyValuePairs().containsKey("easy-random.budget"))).hasSize(1);
+    }
+
+    @Test
+    public void testWorkerAllocationsCounted() {
+        EngineTestKit.engine("junit-jupiter").selectors(selectClass(BulkFixture.class)).execute().testEvents()
+                .assertThatEvents().haveExactly(1, event(test("overBudget"),
+                        finishedWithFailure(message(text -> text.contains("BulkFixture.overBudget")))));
+    }
+
+    @Test
+    public void testSetupNotCounted() {
+        EngineTestKit.engine("junit-jupiter").selectors(selectClass(SetupFixture.class)).execute().testEvents()
+                .assertStatistics(stats -> stats.succeeded(1));
+    }
+
+    @Test
+    public void testConfiguredBudget() {
+        EngineTestKit.engine("junit-jupiter").selectors(selectClass(ConfiguredFixture.class))
+                .configurationParameter("easy-random.budget.max-bytes", "1000")
+                .execute().testEvents()
+                .assertThatEvents().haveExactly(1, event(test("overBudget"),
+                        finishedWithFailure(message(text -> text.contains("ConfiguredFixture.overBudget")))));
+    }
+}
@@ -0,0 +1,82 @@
+package org.mvnsearch;
+
+import jakarta.validation.constraints.*;
+import org.hibernate.validator.constraints.Length;
+import org.hibernate.validator.constraints.UUID;
+import org.jeasy.random.EasyRandomExtension;
+import org.jeasy.random.ObjectCreationException;
+import org.jeasy.random.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.testkit.engine.EngineTestKit;
+import org.junit.platform.testkit.engine.Events;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+@ExtendWith(EasyRandomExtension.class)
+public class ConstraintTest {
+
+    public static class Order {
+        @Size(min = 5, max = 8)
+        @Pattern(regexp = "[a-z]{3,12}")
+        private String code;
+        @Min(10)
+        @Max(20)
+        @Positive
+        private int quantity;
+        @DecimalMin(value = "0.5", inclusive = false)
+        @DecimalMax("2.5")
+        private BigDecimal ratio;
+        @NotBlank
+        @Email
+        private String email;
+        @Length(min = 6, max = 6)
+        @Pattern(regexp = "(ab|c)+")
+        private String token;
+        @UUID
+        @Pattern(regexp = "[0-9a-f]{8}-.*")
+        private String reference;
+    }
+
+    @ExtendWith(EasyRandomExtension.class)
+    static class UnsatisfiableFixture {
+        @Test
+        public void unsatisfiable(@Random @Phone @Pattern(regexp = "[a-z]+") String code) {
+        }
+    }
+
+    @Test
+    public void testComposedConstraints(@Random(size = 200) List<Order> orders) {
+        assertThat(orders).allSatisfy(order -> {
+            assertThat(order.code).hasSizeBetween(5, 8).matches("[a-z]+");
+            assertThat(order.quantity).isBetween(10, 20);
+            assertThat(order.ratio).isGreaterThan(new BigDecimal("0.5")).isLessThanOrEqualTo(new BigDecimal("2.5"));
+            assertThat(order.email).isNotBlank().matches("[^@\\s]+@[^@\\s]+");
+            assertThat(order.token).hasSize(6).matches("(ab|c)+");
+            assertThat(java.util.UUID.fromString(order.reference)).hasToString(order.reference);
+        });
+        assertThat(orders.stream().map(order -> order.quantity).distinct().count()).isGreaterThan(1);
+    }
+
+    @Test
+    public void testComposedParameters(@Random @Min(-5) @NegativeOrZero long number,
+                                       @Random @Size(min = 3, max = 4) @Pattern(regexp = "\\d{2,6}") String digits) {
+        assertThat(number).isBetween(-5L, 0L);
+        assertThat(digits).hasSizeBetween(3, 4).matches("\\d+");
+    }
+
+    @Test
+    public void testUnsatisfiableConstraints() {
+        final Events events = EngineTestKit.engine("junit-jupiter").selectors(selectClass(UnsatisfiableFixture.class)).execute().testEvents();
+        events.assertStatistics(stats -> stats.failed(1));
+        assertThat(events.failed().stream()
+                .map(event -> event.getRequiredPayload(TestExecutionResult.class).getThrowable().orElseThrow().getCause()))
+                .singleElement().isInstanceOf(ObjectCreationException.class)
+                .satisfies(cause -> assertThat(cause.getMessage()).contains("code", "retries"));
+    }
+}
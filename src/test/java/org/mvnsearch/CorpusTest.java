@@ -0,0 +1,138 @@
+package org.mvnsearch;
+
+import org.jeasy.random.EasyRandomExtension;
+import org.jeasy.random.Random;
+import org.jeasy.random.RandomSeed;
+import org.jeasy.random.RandomSeedReport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.testkit.engine.EngineTestKit;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+public class CorpusTest {
+    private static final List<Object> VALUES = new ArrayList<>();
+
+    public enum Status {ACTIVE, SUSPENDED}
+
+    public record Point(int x, int y) {
+    }
+
+    public static class Customer {
+        private String name;
+        private LocalDate birthday;
+        private BigDecimal balance;
+        private Status status;
+        private List<Account> accounts;
+        private Map<String, Integer> scores;
+        private int[] codes;
+        private Point location;
+    }
+
+    @RandomSeed(7)
+    @ExtendWith(EasyRandomExtension.class)
+    static class CachedFixture {
+        @Test
+        public void generate(@Random(size = 20, cached = true) List<Customer> customers, @Random String text) {
+            VALUES.add(customers);
+            VALUES.add(text);
+        }
+    }
+
+    @ExtendWith(EasyRandomExtension.class)
+    static class UnpinnedFixture {
+        @Test
+        public void generate(@Random(size = 20, cached = true) List<Customer> customers) {
+            VALUES.add(customers);
+        }
+    }
+
+    @ExtendWith(EasyRandomExtension.class)
+    static class FailingFixture {
+        @Test
+        public void fail(@Random(size = 20, cached = true) List<Customer> customers) {
+            throw new IllegalStateException("customers: " + customers.size());
+        }
+    }
+
+    @Test
+    public void testLoadCachedFixtures(@TempDir Path directory) throws IOException {
+        VALUES.clear();
+        run(directory);
+        final Map<Path, FileTime> files = listFiles(directory);
+        assertThat(files).hasSize(1);
+        run(directory);
+        assertThat(listFiles(directory)).isEqualTo(files);
+        assertThat(VALUES).hasSize(4);
+        assertThat(VALUES.get(2)).usingRecursiveComparison().isEqualTo(VALUES.get(0));
+        assertThat(VALUES.get(3)).isEqualTo(VALUES.get(1));
+        assertThat(VALUES.get(2)).asList().hasSize(20);
+    }
+
+    @Test
+    public void testEvictStaleFixtures(@TempDir Path directory) throws IOException {
+        VALUES.clear();
+        final Path stale = Files.createFile(directory.resolve("Customer-stale.bin"));
+        Files.setLastModifiedTime(stale, FileTime.from(Instant.now().minus(Duration.ofDays(31))));
+        run(directory, UnpinnedFixture.class);
+        final Map<Path, FileTime> files = listFiles(directory);
+        assertThat(files).hasSize(1).doesNotContainKey(stale);
+        run(directory, UnpinnedFixture.class);
+        assertThat(listFiles(directory)).isEqualTo(files);
+        assertThat(VALUES.get(1)).usingRecursiveComparison().isEqualTo(VALUES.get(0));
+    }
+
+    @Test
+    public void testCachedFixtureReportedOnFailure(@TempDir Path directory) throws IOException {
+        final Throwable failure = EngineTestKit.engine("junit-jupiter")
+                .configurationParameter("easy-random.corpus.directory", directory.toString())
+                .selectors(selectClass(FailingFixture.class)).execute()
+                .testEvents().failed().stream().findFirst().orElseThrow()
+                .getPayload(TestExecutionResult.class).orElseThrow()
+                .getThrowable().orElseThrow();
+        final Path file = listFiles(directory).keySet().iterator().next();
+        assertThat(failure.getSuppressed()).hasSize(1);
+        assertThat(failure.getSuppressed()[0]).isInstanceOf(RandomSeedReport.class)
+                .hasMessageContaining("is the fixture of " + file + ", generated from seed ");
+    }
+
+    private static void run(Path directory) {
+        run(directory, CachedFixture.class);
+    }
+
+    private static void run(Path directory, Class<?> fixture) {
+        EngineTestKit.engine("junit-jupiter")
+                .configurationParameter("easy-random.corpus.directory", directory.toString())
+                .selectors(selectClass(fixture)).execute()
+                .testEvents().assertStatistics(stats -> stats.succeeded(1));
+    }
+
+    private static Map<Path, FileTime> listFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.collect(Collectors.toMap(file -> file, file -> {
+                try {
+                    return Files.getLastModifiedTime(file);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+        }
+    }
+}
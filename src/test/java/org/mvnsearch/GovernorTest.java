@@ -0,0 +1,90 @@
+package org.mvnsearch;
+
+import jakarta.validation.constraints.Size;
+import org.jeasy.random.EasyRandomExtension;
+import org.jeasy.random.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(EasyRandomExtension.class)
+public class GovernorTest {
+
+    public static class Order {
+        public String number;
+        public Customer customer;
+        public List<Line> lines;
+    }
+
+    public static class Customer {
+        public String name;
+        public Address address;
+    }
+
+    public static class Address {
+        public String city;
+    }
+
+    public static class Line {
+        public int quantity;
+        public Product product;
+    }
+
+    public static class Product {
+        public String name;
+        @Size(min = 50, max = 100)
+        public List<String> tags;
+    }
+
+    public record Chain(String name, Chain next) {
+    }
+
+    @Random(maxDepth = 2)
+    private Order order;
+
+    @Test
+    public void testMaxDepth() {
+        assertThat(order.number).isNotNull();
+        assertThat(order.customer.name).isNotNull();
+        assertThat(order.customer.address).isNull();
+        assertThat(order.lines).isNotEmpty().allSatisfy(line -> {
+            assertThat(line.quantity).isNotZero();
+            assertThat(line.product).isNull();
+        });
+    }
+
+    @Test
+    public void testMaxDepthOfRecursiveRecords(@Random(maxDepth = 3) Chain chain) {
+        assertThat(chain.name()).isNotNull();
+        assertThat(chain.next().next().name()).isNotNull();
+        assertThat(chain.next().next().next()).isNull();
+    }
+
+    @Test
+    public void testMaxObjects(@Random(size = 100, maxObjects = 10) List<Account> accounts,
+                               @Random(maxObjects = 3) Order limitedOrder) {
+        assertThat(accounts).hasSize(10).doesNotContainNull();
+        assertThat(limitedOrder.customer.address).isNotNull();
+        assertThat(limitedOrder.lines).isNull();
+    }
+
+    @Test
+    public void testMaxObjectsOfParallelBulk(@Random(size = 20_000, maxObjects = 100) List<Account> accounts) {
+        assertThat(accounts).hasSize(100).doesNotContainNull();
+    }
+
+    @Test
+    public void testMaxObjectsOfUnboundedStream(@Random(unbounded = true, maxObjects = 5) Stream<Account> accounts) {
+        assertThat(accounts.count()).isEqualTo(5);
+    }
+
+    @Test
+    public void testMaxCollectionSize(@Random(maxCollectionSize = 2) Order limitedOrder) {
+        assertThat(limitedOrder.lines).hasSizeLessThanOrEqualTo(2).allSatisfy(line ->
+                assertThat(line.product.tags).hasSizeLessThanOrEqualTo(2));
+    }
+}
@@ -0,0 +1,70 @@
+package org.mvnsearch;
+
+import jakarta.validation.constraints.Email;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.jeasy.random.EasyRandomExtension;
+import org.jeasy.random.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.testkit.engine.EngineTestKit;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+public class JfrTest {
+
+    public record Point(int x, int y) {
+    }
+
+    @ExtendWith(EasyRandomExtension.class)
+    static class RecordedFixture {
+        @Random(size = 100)
+        private List<Account> accounts;
+
+        @Test
+        public void generate(@Random Point point, @Random @Email String email) {
+            assertThat(accounts).hasSize(100);
+        }
+    }
+
+    @Test
+    public void testGenerationEvents(@TempDir Path directory) throws Exception {
+        final Path file = directory.resolve("generation.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.jeasy.random.Generation");
+            recording.enable("org.jeasy.random.ValidationHandler");
+            recording.start();
+            EngineTestKit.engine("junit-jupiter").selectors(selectClass(RecordedFixture.class)).execute()
+                    .testEvents().assertStatistics(stats -> stats.succeeded(1));
+            recording.stop();
+            recording.dump(file);
+        }
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        final List<RecordedEvent> generations = events.stream()
+                .filter(event -> event.getEventType().getName().equals("org.jeasy.random.Generation"))
+                .filter(event -> event.getString("element").contains("JfrTest"))
+                .collect(Collectors.toList());
+        assertThat(generations).anySatisfy(event -> {
+            assertThat(event.getString("kind")).isEqualTo("field");
+            assertThat(event.getString("handler")).isEqualTo("BulkObjectGenerator");
+            assertThat(event.getLong("size")).isEqualTo(100);
+            assertThat(event.getLong("allocatedBytes")).isPositive();
+        });
+        assertThat(generations).anySatisfy(event -> {
+            assertThat(event.getString("kind")).isEqualTo("parameter");
+            assertThat(event.getString("targetType")).endsWith("Point");
+        });
+        assertThat(generations).anySatisfy(event -> assertThat(event.getString("kind")).isEqualTo("record"));
+        assertThat(events).anySatisfy(event -> {
+            assertThat(event.getEventType().getName()).isEqualTo("org.jeasy.random.ValidationHandler");
+            assertThat(event.getString("handler")).isEqualTo("EmailAddressAnnotationHandler");
+        });
+    }
+}
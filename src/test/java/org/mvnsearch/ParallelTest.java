@@ -0,0 +1,114 @@
+package org.mvnsearch;
+
+import com.github.javafaker.Name;
+import org.jeasy.random.EasyRandomExtension;
+import org.jeasy.random.EasyRandomParameters;
+import org.jeasy.random.Random;
+import org.jeasy.random.api.Randomizer;
+import org.jeasy.random.api.RandomizerRegistry;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.platform.testkit.engine.EngineTestKit;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+public class ParallelTest {
+
+    record Order(long id, @javax.validation.constraints.Email String email, List<String> items) {
+    }
+
+    @ExtendWith(EasyRandomExtension.class)
+    @Execution(ExecutionMode.CONCURRENT)
+    static class ConcurrentFixture {
+        @Random
+        @Phone
+        private String phone;
+
+        @RepeatedTest(200)
+        public void testConcurrentGeneration(@Random User user,
+                                             @Random(size = 20) List<Account> accounts,
+                                             @Random Order order,
+                                             @Random(locale = "zh_CN") Name name,
+                                             @Random @Phone String mobile) {
+            assertThat(user.getEmail()).contains("@");
+            assertThat(accounts).hasSize(20).doesNotContainNull();
+            assertThat(order.email()).contains("@");
+            assertThat(name.fullName()).isNotEmpty();
+            assertThat(mobile).matches("^1[3-9]\\d{9}$");
+            assertThat(phone).matches("^1[3-9]\\d{9}$");
+        }
+    }
+
+    /**
+     * records the threads building an engine: engines initialize the registries of their parameters when built
+     */
+    static class EngineThreads implements RandomizerRegistry {
+        static final Set<Thread> BUILDERS = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void init(EasyRandomParameters parameters) {
+            BUILDERS.add(Thread.currentThread());
+        }
+
+        @Override
+        public Randomizer<?> getRandomizer(Field field) {
+            return null;
+        }
+
+        @Override
+        public Randomizer<?> getRandomizer(Class<?> type) {
+            return null;
+        }
+    }
+
+    @Execution(ExecutionMode.CONCURRENT)
+    static class IsolationFixture {
+        static final Set<Thread> GENERATORS = ConcurrentHashMap.newKeySet();
+
+        @RegisterExtension
+        static EasyRandomExtension extension = new EasyRandomExtension(new EasyRandomParameters().randomizerRegistry(new EngineThreads()));
+
+        @RepeatedTest(100)
+        public void testGeneration(@Random User user, @Random(size = 5) List<Account> accounts) throws InterruptedException {
+            GENERATORS.add(Thread.currentThread());
+            assertThat(accounts).hasSize(5).doesNotContainNull();
+            // keep the thread busy, so that the tests are spread over the workers
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    public void testConcurrentGeneration() {
+        EngineTestKit.engine("junit-jupiter")
+                .configurationParameter("junit.jupiter.execution.parallel.enabled", "true")
+                .configurationParameter("junit.jupiter.execution.parallel.config.strategy", "fixed")
+                .configurationParameter("junit.jupiter.execution.parallel.config.fixed.parallelism", "16")
+                .selectors(selectClass(ConcurrentFixture.class)).execute()
+                .testEvents().assertStatistics(stats -> stats.succeeded(200));
+    }
+
+    @Test
+    public void testEnginesIsolatedAcrossThreads() {
+        EngineThreads.BUILDERS.clear();
+        IsolationFixture.GENERATORS.clear();
+        EngineTestKit.engine("junit-jupiter")
+                .configurationParameter("junit.jupiter.execution.parallel.enabled", "true")
+                .configurationParameter("junit.jupiter.execution.parallel.config.strategy", "fixed")
+                .configurationParameter("junit.jupiter.execution.parallel.config.fixed.parallelism", "4")
+                .selectors(selectClass(IsolationFixture.class)).execute()
+                .testEvents().assertStatistics(stats -> stats.succeeded(100));
+        // every thread generating values built its own engine from the shared parameters instance
+        assertThat(IsolationFixture.GENERATORS).hasSizeGreaterThan(1);
+        assertThat(EngineThreads.BUILDERS).containsAll(IsolationFixture.GENERATORS);
+    }
+}
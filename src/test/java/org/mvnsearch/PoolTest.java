@@ -0,0 +1,114 @@
+package org.mvnsearch;
+
+import org.jeasy.random.EasyRandomExtension;
+import org.jeasy.random.PoolStats;
+import org.jeasy.random.Random;
+import org.jeasy.random.RandomSeed;
+import org.jeasy.random.RandomSeedReport;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.testkit.engine.EngineTestKit;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+public class PoolTest {
+    private static final Set<Account> ACCOUNTS = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+    @ExtendWith(EasyRandomExtension.class)
+    static class PooledFixture {
+        @BeforeAll
+        static void waitForPools() throws InterruptedException {
+            Thread.sleep(500);
+        }
+
+        @RepeatedTest(40)
+        public void generate(@Random Account account) {
+            assertThat(account.getName()).isNotNull();
+            ACCOUNTS.add(account);
+        }
+    }
+
+    @RandomSeed(42)
+    @ExtendWith(EasyRandomExtension.class)
+    static class ReplayFixture {
+        @RepeatedTest(5)
+        public void generate(@Random Account account) {
+            assertThat(account.getName()).isNotNull();
+        }
+    }
+
+    @ExtendWith(EasyRandomExtension.class)
+    static class FailingPooledFixture {
+        @BeforeAll
+        static void waitForPools() throws InterruptedException {
+            Thread.sleep(500);
+        }
+
+        @Test
+        public void fail(@Random Account account) {
+            throw new IllegalStateException(account.getName());
+        }
+    }
+
+    @Test
+    @ResourceLock("PoolStats")
+    public void testPooledInstances() {
+        PoolStats.reset();
+        ACCOUNTS.clear();
+        EngineTestKit.engine("junit-jupiter")
+                .configurationParameter("easy-random.pool.types", Account.class.getName())
+                .configurationParameter("easy-random.pool.capacity", "16")
+                .configurationParameter("easy-random.pool.low-watermark", "8")
+                .selectors(selectClass(PooledFixture.class)).execute()
+                .testEvents().assertStatistics(stats -> stats.succeeded(40));
+        assertThat(ACCOUNTS).hasSize(40);
+        assertThat(PoolStats.hits(Account.class)).isPositive();
+        assertThat(PoolStats.hits(Account.class) + PoolStats.misses(Account.class)).isEqualTo(40);
+    }
+
+    @Test
+    @ResourceLock("PoolStats")
+    public void testReplayBypassesPools() {
+        PoolStats.reset();
+        EngineTestKit.engine("junit-jupiter")
+                .configurationParameter("easy-random.pool.types", Account.class.getName())
+                .selectors(selectClass(ReplayFixture.class)).execute()
+                .testEvents().assertStatistics(stats -> stats.succeeded(5));
+        assertThat(PoolStats.hits(Account.class) + PoolStats.misses(Account.class)).isZero();
+    }
+
+    @Test
+    @ResourceLock("PoolStats")
+    public void testConfiguredSeedBypassesPools() {
+        PoolStats.reset();
+        EngineTestKit.engine("junit-jupiter")
+                .configurationParameter("easy-random.pool.types", Account.class.getName())
+                .configurationParameter("easy-random.seed", "42")
+                .selectors(selectClass(PooledFixture.class)).execute()
+                .testEvents().assertStatistics(stats -> stats.succeeded(40));
+        assertThat(PoolStats.hits(Account.class) + PoolStats.misses(Account.class)).isZero();
+    }
+
+    @Test
+    @ResourceLock("PoolStats")
+    public void testPooledInstancesNotReplayedOnFailure() {
+        final Throwable failure = EngineTestKit.engine("junit-jupiter")
+                .configurationParameter("easy-random.pool.types", Account.class.getName())
+                .selectors(selectClass(FailingPooledFixture.class)).execute()
+                .testEvents().failed().stream().findFirst().orElseThrow()
+                .getPayload(TestExecutionResult.class).orElseThrow()
+                .getThrowable().orElseThrow();
+        assertThat(failure.getSuppressed()).hasSize(1);
+        assertThat(failure.getSuppressed()[0]).isInstanceOf(RandomSeedReport.class)
+                .hasMessageContaining(Account.class.getName() + " were taken from a pre-generation pool");
+    }
+}
@@ -0,0 +1,61 @@
+package org.mvnsearch;
+
+import org.jeasy.random.EasyRandomExtension;
+import org.jeasy.random.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith(EasyRandomExtension.class)
+public class PrimitiveTest {
+    @Random(size = 5_000_000)
+    private int[] ints;
+
+    @Test
+    public void testLargeIntArray() {
+        assertThat(ints).hasSize(5_000_000);
+        assertThat(Arrays.stream(ints).distinct().limit(1000).count()).isEqualTo(1000);
+    }
+
+    @Test
+    public void testPrimitiveArrays(@Random(size = 100) long[] longs, @Random(size = 100) double[] doubles,
+                                    @Random(size = 100) boolean[] booleans, @Random(size = 100) Short[] shorts) {
+        assertThat(longs).hasSize(100);
+        assertThat(doubles).hasSize(100);
+        assertThat(Arrays.stream(doubles).allMatch(value -> value >= 0.0 && value < 1.0)).isTrue();
+        assertThat(booleans).hasSize(100).contains(true, false);
+        assertThat(shorts).hasSize(100).doesNotContainNull();
+    }
+
+    @Test
+    public void testDefaultArraySize(@Random int[] ints, @Random String[] names) {
+        assertThat(ints).hasSize(10);
+        assertThat(names).hasSize(10);
+    }
+
+    @Test
+    public void testNumericCollections(@Random(size = 1000) List<Integer> integers,
+                                       @Random(size = 1000, compact = true) List<Long> longs,
+                                       @Random(size = 1000) Set<Long> ids) {
+        assertThat(integers).hasSize(1000).doesNotContainNull();
+        integers.add(1);
+        assertThat(longs).hasSize(1000).doesNotContainNull();
+        assertThatThrownBy(() -> longs.add(1L)).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(ids).hasSize(1000);
+    }
+
+    @Test
+    public void testPrimitiveStreams(@Random(size = 100_000) IntStream ints,
+                                     @Random(unbounded = true) DoubleStream doubles) {
+        assertThat(ints.parallel().count()).isEqualTo(100_000);
+        assertThat(doubles.parallel().limit(1000).allMatch(value -> value >= 0.0 && value < 1.0)).isTrue();
+    }
+}
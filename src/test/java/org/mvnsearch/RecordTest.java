@@ -7,6 +7,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 
 import javax.validation.constraints.Email;
 import javax.validation.constraints.Positive;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 @ExtendWith(EasyRandomExtension.class)
 public class RecordTest {
@@ -14,9 +17,21 @@ public class RecordTest {
     record Person(@Positive int id, @Email String email) {
     }
 
+    record Team(String name, Person leader, @Positive long budget) {
+    }
+
     @Test
     public void testRecord(@Random Person person) {
         System.out.println("person.id = " + person.id());
         System.out.println("person.email = " + person.email());
     }
+
+    @Test
+    public void testNestedRecords(@Random(size = 10_000) List<Team> teams) {
+        assertThat(teams).hasSize(10_000).allSatisfy(team -> {
+            assertThat(team.budget()).isPositive();
+            assertThat(team.leader().id()).isPositive();
+            assertThat(team.leader().email()).contains("@");
+        });
+    }
 }
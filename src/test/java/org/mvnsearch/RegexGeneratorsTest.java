@@ -0,0 +1,54 @@
+package org.mvnsearch;
+
+import org.jeasy.random.api.Randomizer;
+import org.jeasy.random.validation.RegexGenerators;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.constraints.Pattern;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RegexGeneratorsTest {
+
+    @Test
+    public void testCompiledRegexReused() {
+        final String regex = Phone.class.getAnnotation(Pattern.class).regexp();
+        RegexGenerators.randomizer(regex, 1L);
+        final long misses = RegexGenerators.missCount();
+        final long hits = RegexGenerators.hitCount();
+        for (int i = 0; i < 100; i++) {
+            final Randomizer<String> randomizer = RegexGenerators.randomizer(regex, i);
+            assertThat(randomizer.getRandomValue()).matches(regex);
+        }
+        assertThat(RegexGenerators.missCount()).isEqualTo(misses);
+        assertThat(RegexGenerators.hitCount()).isGreaterThanOrEqualTo(hits + 100);
+    }
+
+    @Test
+    public void testSameSeedSameValues() {
+        final String regex = "[A-Z][a-z]{6} \\Q(Jr.)\\E";
+        final Randomizer<String> randomizer = RegexGenerators.randomizer(regex, 42L);
+        final Randomizer<String> replay = RegexGenerators.randomizer(regex, 42L);
+        for (int i = 0; i < 10; i++) {
+            assertThat(randomizer.getRandomValue()).matches("[A-Z][a-z]{6} \\(Jr\\.\\)").isEqualTo(replay.getRandomValue());
+        }
+    }
+
+    @Test
+    public void testSimpleRegexFastPath() {
+        final List<String> simpleRegexes = List.of("^1[3-9]\\d{9}$", "[A-Z][a-z]{6} [A-Z][a-z]{4}",
+                "978-[0-9]{3}-[0-9]{3}-[0-9]{3}-[0-9]", "\\w{6}", "[a-f0-9\\-]{10,20}\\.txt?", "user@example\\.com");
+        for (String regex : simpleRegexes) {
+            assertThat(RegexGenerators.isSimple(regex)).as(regex).isTrue();
+            final Randomizer<String> randomizer = RegexGenerators.randomizer(regex, 7L);
+            for (int i = 0; i < 100; i++) {
+                assertThat(randomizer.getRandomValue()).matches(regex);
+            }
+        }
+        final List<String> complexRegexes = List.of("(https?)://example.com", "[^0-9]{3}", "a+b*", "x|y", ".{3}");
+        for (String regex : complexRegexes) {
+            assertThat(RegexGenerators.isSimple(regex)).as(regex).isFalse();
+        }
+    }
+}
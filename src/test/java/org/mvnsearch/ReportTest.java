@@ -0,0 +1,79 @@
+package org.mvnsearch;
+
+import org.jeasy.random.EasyRandomExtension;
+import org.jeasy.random.Random;
+import org.jeasy.random.ValidationStats;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.testkit.engine.EngineTestKit;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+public class ReportTest {
+
+    @ExtendWith(EasyRandomExtension.class)
+    static class ReportedFixture {
+        @Random
+        private User user;
+
+        @Test
+        public void generate(@Random(size = 50) List<Account> accounts) {
+            assertThat(accounts).hasSize(50);
+        }
+    }
+
+    @ExtendWith(EasyRandomExtension.class)
+    static class ValidatedFixture {
+        @Test
+        public void generate(@Random(validated = true) ValidatedTest.Ticket ticket) {
+            assertThat(ticket).isNotNull();
+        }
+    }
+
+    @Test
+    public void testReportWrittenAtEndOfRun(@TempDir Path directory) throws Exception {
+        final Path file = directory.resolve("report.json");
+        LauncherFactory.create().execute(LauncherDiscoveryRequestBuilder.request()
+                .selectors(selectClass(ReportedFixture.class))
+                .configurationParameter("easy-random.report.enabled", "true")
+                .configurationParameter("easy-random.report.file", file.toString())
+                .build());
+        final String json = Files.readString(file);
+        assertThat(json).contains("\"byTime\"", "\"byObjects\"", "\"byAllocatedBytes\"")
+                .contains("\"name\": \"" + ReportedFixture.class.getName() + "\", \"generations\": 2, \"objects\": 51")
+                .contains("\"name\": \"java.util.List<org.mvnsearch.Account>\", \"generations\": 1, \"objects\": 50")
+                .contains("\"regex\": {\"hits\": ", "\"syntheticClasses\": ", "\"fakerInstances\": ");
+    }
+
+    @Test
+    public void testValidationRatesOfTheRun(@TempDir Path directory) throws Exception {
+        EngineTestKit.engine("junit-jupiter").selectors(selectClass(ValidatedFixture.class)).execute()
+                .testEvents().assertStatistics(stats -> stats.succeeded(1));
+        assertThat(ValidationStats.rejectionRates()).containsKey(ValidatedTest.Ticket.class.getName());
+        final Path file = directory.resolve("report.json");
+        LauncherFactory.create().execute(LauncherDiscoveryRequestBuilder.request()
+                .selectors(selectClass(ReportedFixture.class))
+                .configurationParameter("easy-random.report.enabled", "true")
+                .configurationParameter("easy-random.report.file", file.toString())
+                .build());
+        assertThat(Files.readString(file)).contains("\"validationRejectionRates\": {}");
+    }
+
+    @Test
+    public void testReportDisabledByDefault(@TempDir Path directory) {
+        final Path file = directory.resolve("report.json");
+        LauncherFactory.create().execute(LauncherDiscoveryRequestBuilder.request()
+                .selectors(selectClass(ReportedFixture.class))
+                .configurationParameter("easy-random.report.file", file.toString())
+                .build());
+        assertThat(file).doesNotExist();
+    }
+}
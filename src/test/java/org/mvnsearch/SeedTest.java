@@ -0,0 +1,99 @@
+package org.mvnsearch;
+
+import com.github.javafaker.Address;
+import org.jeasy.random.EasyRandomExtension;
+import org.jeasy.random.Random;
+import org.jeasy.random.RandomSeed;
+import org.jeasy.random.RandomSeedReport;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.testkit.engine.EngineTestKit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectMethod;
+
+public class SeedTest {
+    private static final List<String> VALUES = new ArrayList<>();
+
+    @RandomSeed(42)
+    @ExtendWith(EasyRandomExtension.class)
+    static class SeededFixture {
+        @Test
+        public void generate(@Random User user,
+                             @Random @Phone String phone,
+                             @Random(size = 20_000) List<Account> accounts,
+                             @Random(size = 10_000) Stream<Account> stream,
+                             @Random Address address,
+                             @Random net.datafaker.providers.base.Name name) {
+            VALUES.add(user.getName() + user.getEmail() + phone + accounts.get(19_999).getName()
+                    + stream.parallel().skip(9_999).findFirst().orElseThrow().getName() + address.city() + name.fullName());
+        }
+    }
+
+    @RandomSeed(7)
+    @ExtendWith(EasyRandomExtension.class)
+    @TestMethodOrder(MethodOrderer.MethodName.class)
+    static class OrderFixture {
+        @Random
+        private String text;
+
+        @Test
+        public void first(@Random User user, @Random String text) {
+            VALUES.add("first:" + user.getName() + user.getEmail() + text);
+        }
+
+        @Test
+        public void second(@Random User user, @Random Account account) {
+            VALUES.add("second:" + user.getName() + user.getEmail() + user.getCreditCardNumber() + account.getName() + this.text);
+        }
+    }
+
+    @ExtendWith(EasyRandomExtension.class)
+    static class FailingFixture {
+        @Test
+        @RandomSeed(2023)
+        public void fail(@Random String text) {
+            throw new IllegalStateException(text);
+        }
+    }
+
+    @Test
+    public void testSameRootSeedReplaysSameData() {
+        VALUES.clear();
+        EngineTestKit.engine("junit-jupiter").selectors(selectClass(SeededFixture.class)).execute()
+                .testEvents().assertStatistics(stats -> stats.succeeded(1));
+        EngineTestKit.engine("junit-jupiter").selectors(selectClass(SeededFixture.class)).execute()
+                .testEvents().assertStatistics(stats -> stats.succeeded(1));
+        assertThat(VALUES).hasSize(2);
+        assertThat(VALUES.get(0)).isEqualTo(VALUES.get(1));
+    }
+
+    @Test
+    public void testReplayDoesNotDependOnOtherTests() {
+        VALUES.clear();
+        EngineTestKit.engine("junit-jupiter").selectors(selectClass(OrderFixture.class)).execute()
+                .testEvents().assertStatistics(stats -> stats.succeeded(2));
+        EngineTestKit.engine("junit-jupiter").selectors(selectMethod(OrderFixture.class, "second", "org.mvnsearch.User, org.mvnsearch.Account")).execute()
+                .testEvents().assertStatistics(stats -> stats.succeeded(1));
+        assertThat(VALUES).hasSize(3);
+        assertThat(VALUES.stream().filter(value -> value.startsWith("second:")).distinct()).hasSize(1);
+    }
+
+    @Test
+    public void testRootSeedReportedOnFailure() {
+        final Throwable failure = EngineTestKit.engine("junit-jupiter").selectors(selectClass(FailingFixture.class)).execute()
+                .testEvents().failed().stream().findFirst().orElseThrow()
+                .getPayload(TestExecutionResult.class).orElseThrow()
+                .getThrowable().orElseThrow();
+        assertThat(failure.getSuppressed()).hasSize(1);
+        assertThat(failure.getSuppressed()[0]).isInstanceOf(RandomSeedReport.class).hasMessageContaining("@RandomSeed(2023L)");
+    }
+}
@@ -0,0 +1,66 @@
+package org.mvnsearch;
+
+import jakarta.validation.constraints.Size;
+import org.hibernate.validator.constraints.Length;
+import org.jeasy.random.EasyRandomExtension;
+import org.jeasy.random.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(EasyRandomExtension.class)
+public class SizeTest {
+
+    public static class Basket {
+        @Size(min = 1, max = 3)
+        private List<String> tags;
+        @Size(min = 10, max = 20)
+        private List<Integer> items;
+        @Length(min = 5, max = 8)
+        private String label;
+    }
+
+    @Test
+    public void testSizeRangePerField(@Random(size = 200) List<Basket> baskets) {
+        assertThat(baskets).allSatisfy(basket -> {
+            assertThat(basket.tags).hasSizeBetween(1, 3);
+            assertThat(basket.items).hasSizeBetween(10, 20);
+            assertThat(basket.label).hasSizeBetween(5, 8);
+        });
+        assertThat(baskets.stream().map(basket -> basket.items.size()).distinct().count()).isGreaterThan(1);
+    }
+
+    @Test
+    public void testPrimitiveArrays(@Random @Size(min = 100_000, max = 200_000) int[] ints,
+                                    @Random @Size(min = 10, max = 20) long[] longs,
+                                    @Random @javax.validation.constraints.Size(min = 10, max = 20) double[] doubles,
+                                    @Random @Length(min = 10, max = 20) byte[] bytes,
+                                    @Random @Size(min = 10, max = 20) char[] chars) {
+        assertThat(ints.length).isBetween(100_000, 200_000);
+        assertThat(longs.length).isBetween(10, 20);
+        assertThat(doubles.length).isBetween(10, 20);
+        assertThat(Arrays.stream(doubles).allMatch(value -> value >= 0.0 && value < 1.0)).isTrue();
+        assertThat(bytes.length).isBetween(10, 20);
+        assertThat(new String(chars)).hasSizeBetween(10, 20).matches("\\p{L}+");
+    }
+
+    @Test
+    public void testContainers(@Random @Size(min = 5, max = 10) Set<Integer> numbers,
+                               @Random @Size(min = 5, max = 10) Map<String, Integer> counts,
+                               @Random @Size(min = 5, max = 10) String[] names) {
+        assertThat(numbers).hasSizeBetween(5, 10);
+        assertThat(counts).hasSizeBetween(5, 10);
+        assertThat(names).hasSizeBetween(5, 10).doesNotContainNull();
+    }
+
+    @Test
+    public void testSizeParameter(@Random @Size(min = 2, max = 4) List<String> tags) {
+        assertThat(tags).hasSizeBetween(2, 4);
+    }
+}
@@ -0,0 +1,56 @@
+package org.mvnsearch;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import org.jeasy.random.validation.SyntheticFields;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.constraints.Pattern;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SyntheticFieldsTest {
+
+    @Test
+    public void testSyntheticFieldReused() throws Exception {
+        final Pattern pattern = Phone.class.getAnnotation(Pattern.class);
+        final int identity = System.identityHashCode(SyntheticFields.get(getClass(), "mobile", String.class, pattern));
+        final long generated = SyntheticFields.generatedClassCount();
+        // the cache must survive collections while no caller holds the field
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertThat(System.identityHashCode(SyntheticFields.get(getClass(), "mobile", String.class, pattern))).isEqualTo(identity);
+        }
+        assertThat(SyntheticFields.generatedClassCount()).isEqualTo(generated);
+        assertThat(SyntheticFields.get(getClass(), "mobile", String.class, pattern).getAnnotation(Pattern.class).regexp())
+                .isEqualTo(pattern.regexp());
+    }
+
+    @Test
+    public void testClassLoaderCollected() throws Exception {
+        final WeakReference<ClassLoader> classLoader = generateInNewClassLoader();
+        for (int i = 0; i < 50 && classLoader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertThat(classLoader.get()).isNull();
+    }
+
+    private WeakReference<ClassLoader> generateInNewClassLoader() throws Exception {
+        final Pattern pattern = Phone.class.getAnnotation(Pattern.class);
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[0], getClass().getClassLoader())) {
+            final Class<?> owner = new ByteBuddy().subclass(Object.class).make()
+                    .load(classLoader, ClassLoadingStrategy.Default.INJECTION).getLoaded();
+            final Field field = SyntheticFields.get(owner, "mobile", String.class, pattern);
+            assertThat(field.getDeclaringClass().getClassLoader().getParent()).isSameAs(classLoader);
+            return new WeakReference<>(classLoader);
+        }
+    }
+}
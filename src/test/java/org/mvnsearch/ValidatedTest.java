@@ -0,0 +1,81 @@
+package org.mvnsearch;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.Payload;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Email;
+import org.jeasy.random.EasyRandomExtension;
+import org.jeasy.random.Random;
+import org.jeasy.random.ValidationStats;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(EasyRandomExtension.class)
+public class ValidatedTest {
+
+    @Constraint(validatedBy = EvenValidator.class)
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Even {
+        String message() default "must be even";
+
+        Class<?>[] groups() default {};
+
+        Class<? extends Payload>[] payload() default {};
+    }
+
+    public static class EvenValidator implements ConstraintValidator<Even, Integer> {
+        @Override
+        public boolean isValid(Integer value, ConstraintValidatorContext context) {
+            return value == null || value % 2 == 0;
+        }
+    }
+
+    public static class Ticket {
+        @Even
+        private int number;
+        @Email
+        private String contact;
+        private String note;
+    }
+
+    public static class Interval {
+        private int from;
+        private int to;
+
+        @AssertTrue
+        public boolean isOrdered() {
+            return from <= to;
+        }
+    }
+
+    @Test
+    public void testRegenerateOffendingProperties(@Random(size = 200, validated = true) List<Ticket> tickets) {
+        assertThat(tickets).hasSize(200).allSatisfy(ticket -> {
+            assertThat(ticket.number % 2).isZero();
+            assertThat(ticket.contact).contains("@");
+            assertThat(ticket.note).isNotNull();
+        });
+        assertThat(ValidationStats.checks(Ticket.class)).isGreaterThan(200);
+        assertThat(ValidationStats.rejectionRate(Ticket.class)).isBetween(0.1, 0.9);
+        assertThat(ValidationStats.rejectionRates()).containsKey(Ticket.class.getName());
+    }
+
+    @Test
+    public void testRegenerateElements(@Random(size = 50, validated = true, retries = 40) Set<Interval> intervals,
+                                       @Random(size = 50, validated = true, retries = 40) Stream<Interval> stream,
+                                       @Random(validated = true, retries = 40) Interval interval) {
+        assertThat(intervals).allMatch(Interval::isOrdered);
+        assertThat(stream).hasSize(50).allMatch(Interval::isOrdered);
+        assertThat(interval.isOrdered()).isTrue();
+    }
+}
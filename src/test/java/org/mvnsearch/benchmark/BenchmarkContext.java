@@ -0,0 +1,201 @@
+package org.mvnsearch.benchmark;
+
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.*;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Minimal root extension context for benchmarks: calls the extension without a JUnit engine, with in-memory stores
+ *
+ * @author linux_china
+ */
+public class BenchmarkContext implements ExtensionContext {
+    private final String uniqueId;
+    private final Map<Namespace, Store> stores = new ConcurrentHashMap<>();
+
+    public BenchmarkContext(String uniqueId) {
+        this.uniqueId = uniqueId;
+    }
+
+    /**
+     * parameter contexts of a method's parameters
+     *
+     * @param method method
+     * @return parameter contexts
+     */
+    public static List<ParameterContext> parameterContexts(Method method) {
+        final List<ParameterContext> contexts = new ArrayList<>();
+        final Parameter[] parameters = method.getParameters();
+        for (int i = 0; i < parameters.length; i++) {
+            contexts.add(new BenchmarkParameterContext(parameters[i], i));
+        }
+        return contexts;
+    }
+
+    @Override
+    public Optional<ExtensionContext> getParent() {
+        return Optional.empty();
+    }
+
+    @Override
+    public ExtensionContext getRoot() {
+        return this;
+    }
+
+    @Override
+    public String getUniqueId() {
+        return uniqueId;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return uniqueId;
+    }
+
+    @Override
+    public Set<String> getTags() {
+        return Set.of();
+    }
+
+    @Override
+    public Optional<AnnotatedElement> getElement() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<Class<?>> getTestClass() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<TestInstance.Lifecycle> getTestInstanceLifecycle() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<Object> getTestInstance() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<TestInstances> getTestInstances() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<Method> getTestMethod() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<Throwable> getExecutionException() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<String> getConfigurationParameter(String key) {
+        return Optional.ofNullable(System.getProperty(key));
+    }
+
+    @Override
+    public <T> Optional<T> getConfigurationParameter(String key, Function<String, T> transformer) {
+        return getConfigurationParameter(key).map(transformer);
+    }
+
+    @Override
+    public void publishReportEntry(Map<String, String> map) {
+    }
+
+    @Override
+    public Store getStore(Namespace namespace) {
+        return stores.computeIfAbsent(namespace, key -> new BenchmarkStore());
+    }
+
+    @Override
+    public ExecutionMode getExecutionMode() {
+        return ExecutionMode.SAME_THREAD;
+    }
+
+    @Override
+    public ExecutableInvoker getExecutableInvoker() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static class BenchmarkStore implements Store {
+        private final Map<Object, Object> values = new ConcurrentHashMap<>();
+
+        @Override
+        public Object get(Object key) {
+            return values.get(key);
+        }
+
+        @Override
+        public <V> V get(Object key, Class<V> requiredType) {
+            return requiredType.cast(values.get(key));
+        }
+
+        @Override
+        public <K, V> Object getOrComputeIfAbsent(K key, Function<K, V> defaultCreator) {
+            // no computeIfAbsent: creators use the store too
+            final Object value = values.get(key);
+            if (value != null) {
+                return value;
+            }
+            final Object created = defaultCreator.apply(key);
+            final Object existing = values.putIfAbsent(key, created);
+            return existing != null ? existing : created;
+        }
+
+        @Override
+        public <K, V> V getOrComputeIfAbsent(K key, Function<K, V> defaultCreator, Class<V> requiredType) {
+            return requiredType.cast(getOrComputeIfAbsent(key, defaultCreator));
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            values.put(key, value);
+        }
+
+        @Override
+        public Object remove(Object key) {
+            return values.remove(key);
+        }
+
+        @Override
+        public <V> V remove(Object key, Class<V> requiredType) {
+            return requiredType.cast(values.remove(key));
+        }
+    }
+
+    private record BenchmarkParameterContext(Parameter getParameter, int getIndex) implements ParameterContext {
+
+        @Override
+        public Optional<Object> getTarget() {
+            return Optional.empty();
+        }
+
+        @Override
+        public boolean isAnnotated(Class<? extends Annotation> annotationType) {
+            return AnnotationSupport.isAnnotated(getParameter, annotationType);
+        }
+
+        @Override
+        public <A extends Annotation> Optional<A> findAnnotation(Class<A> annotationType) {
+            return AnnotationSupport.findAnnotation(getParameter, annotationType);
+        }
+
+        @Override
+        public <A extends Annotation> List<A> findRepeatableAnnotations(Class<A> annotationType) {
+            return AnnotationSupport.findRepeatableAnnotations(getParameter, annotationType);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package org.mvnsearch.benchmark;
+
+import com.github.javafaker.Name;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import org.hibernate.validator.constraints.CreditCardNumber;
+import org.jeasy.random.EasyRandomExtension;
+import org.jeasy.random.Random;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.mvnsearch.Account;
+import org.mvnsearch.User;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Generation hot paths of the extension: parameter resolution per target kind, and field injection.
+ * Run with {@code mvn -Pbenchmark verify} for throughput and allocation rate (GC profiler).
+ *
+ * @author linux_china
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExtensionBenchmark {
+    public record Person(@Positive int id, @jakarta.validation.constraints.Email String email, Account account) {
+    }
+
+    public static class Fixture {
+        @Random
+        private User user;
+        @Random
+        @Email
+        private String email;
+        @Random(size = 10)
+        private List<Account> accounts;
+    }
+
+    @SuppressWarnings("unused")
+    static void target(@Random User user,
+                       @Random Person person,
+                       @Random Name name,
+                       @Random @Pattern(regexp = "^1[3-9]\\d{9}$") String phone,
+                       @Random @Email String email,
+                       @Random @Size(min = 5, max = 20) String text,
+                       @Random @CreditCardNumber String creditCard,
+                       @Random(size = 1000) List<Account> accounts,
+                       @Random(size = 1000) Stream<Account> stream) {
+    }
+
+    private EasyRandomExtension extension;
+    private BenchmarkContext context;
+    private List<ParameterContext> parameters;
+
+    @Setup
+    public void setup() throws Exception {
+        extension = new EasyRandomExtension();
+        context = new BenchmarkContext("[engine:benchmark]");
+        parameters = BenchmarkContext.parameterContexts(ExtensionBenchmark.class.getDeclaredMethod("target",
+                User.class, Person.class, Name.class, String.class, String.class, String.class, String.class, List.class, Stream.class));
+        // the fields must be injected by postProcessTestInstance itself, or its benchmark measures an empty call
+        final Fixture fixture = (Fixture) postProcessTestInstance();
+        if (fixture.user == null || fixture.email == null || fixture.accounts == null) {
+            throw new IllegalStateException("Fields of the fixture not injected by postProcessTestInstance");
+        }
+    }
+
+    @Benchmark
+    public Object pojo() {
+        return resolve(0);
+    }
+
+    @Benchmark
+    public Object record() {
+        return resolve(1);
+    }
+
+    @Benchmark
+    public Object faker() {
+        return resolve(2);
+    }
+
+    @Benchmark
+    public Object pattern() {
+        return resolve(3);
+    }
+
+    @Benchmark
+    public Object email() {
+        return resolve(4);
+    }
+
+    @Benchmark
+    public Object size() {
+        return resolve(5);
+    }
+
+    @Benchmark
+    public Object creditCard() {
+        return resolve(6);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object list() {
+        return resolve(7);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long stream() {
+        // filter drops SIZED, so that count() generates the elements
+        return ((Stream<?>) resolve(8)).filter(Objects::nonNull).count();
+    }
+
+    @Benchmark
+    public Object postProcessTestInstance() throws Exception {
+        final Fixture fixture = new Fixture();
+        extension.postProcessTestInstance(fixture, context);
+        return fixture;
+    }
+
+    private Object resolve(int index) {
+        return extension.resolveParameter(parameters.get(index), context);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ExtensionBenchmark.class.getSimpleName()).addProfiler("gc").build()).run();
+    }
+}
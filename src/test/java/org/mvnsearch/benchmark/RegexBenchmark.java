@@ -0,0 +1,48 @@
+package org.mvnsearch.benchmark;
+
+import org.jeasy.random.api.Randomizer;
+import org.jeasy.random.validation.RegexGenerators;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regex generation: fast path for simple regexes vs automaton walk, for the same regex
+ *
+ * @author linux_china
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegexBenchmark {
+    @Param({"^1[3-9]\\d{9}$", "[A-Z][a-z]{6} [A-Z][a-z]{4}", "978-[0-9]{3}-[0-9]{3}-[0-9]{3}-[0-9]"})
+    private String regex;
+    private Randomizer<String> simple;
+    private Randomizer<String> automaton;
+
+    @Setup
+    public void setup() {
+        simple = RegexGenerators.randomizer(regex, 42L);
+        automaton = RegexGenerators.automatonRandomizer(regex, 42L);
+    }
+
+    @Benchmark
+    public String simple() {
+        return simple.getRandomValue();
+    }
+
+    @Benchmark
+    public String automaton() {
+        return automaton.getRandomValue();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RegexBenchmark.class.getSimpleName()).build()).run();
+    }
+}